@@ -0,0 +1,93 @@
+package katsu.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * Times a parse and format round trip through <code>DateTimeCodec</code> against the same round trip
+ * through <code>java.time</code>, for each input the codec reads. Run it with <code>gradle benchmark</code>.
+ * Every path is warmed up before it is timed, and the lengths of the results are summed and checked, so
+ * that the JIT cannot drop the work.
+ */
+public class DateTimeCodecBenchmark {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int WARM_UP_CALLS = 500_000;
+    private static final int TIMED_CALLS = 5_000_000;
+    private static final int ROUNDS = 5;
+
+    private final String[] texts = new String[1024];
+    private final byte[] bytes = new byte[this.texts.length * DateTimeCodec.LENGTH];
+    private final ByteBuffer buffer = ByteBuffer.wrap(this.bytes);
+
+    private DateTimeCodecBenchmark() {
+        Random random = new Random(7);
+        for (int i = 0; i < this.texts.length; i++) {
+            this.texts[i] = DateUtils.fromEpochMinutes(random.nextInt(60_000_000)).format(FORMATTER);
+            byte[] ascii = this.texts[i].getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(ascii, 0, this.bytes, i * DateTimeCodec.LENGTH, DateTimeCodec.LENGTH);
+        }
+    }
+
+    /**
+     * Prints the best time per round trip of each path over a few rounds.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        DateTimeCodecBenchmark benchmark = new DateTimeCodecBenchmark();
+        String[] names = {"java.time", "codec, String", "codec, byte[]", "codec, ByteBuffer"};
+        double[] best = new double[names.length];
+
+        for (int path = 0; path < names.length; path++) {
+            benchmark.time(path, WARM_UP_CALLS);
+            best[path] = Double.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                best[path] = Math.min(best[path], benchmark.time(path, TIMED_CALLS));
+            }
+        }
+
+        for (int path = 0; path < names.length; path++) {
+            System.out.printf("%-18s %6.1f ns per parse and format (%.1fx)%n",
+                    names[path], best[path], best[0] / best[path]);
+        }
+    }
+
+    /**
+     * Parses and formats the texts round-robin, returning the average time per round trip in nanoseconds.
+     */
+    private double time(int path, int calls) {
+        long checksum = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < calls; i++) {
+            int index = i & (this.texts.length - 1);
+            int offset = index * DateTimeCodec.LENGTH;
+
+            switch (path) {
+            case 0:
+                checksum += LocalDateTime.parse(this.texts[index], FORMATTER).format(FORMATTER).length();
+                break;
+            case 1:
+                checksum += DateTimeCodec.format(DateTimeCodec.parseMinutes(this.texts[index])).length();
+                break;
+            case 2:
+                checksum += DateTimeCodec.format(DateTimeCodec.parseMinutes(this.bytes, offset)).length();
+                break;
+            default:
+                long minutes = DateTimeCodec.parseMinutes(this.buffer, offset, offset + DateTimeCodec.LENGTH);
+                checksum += DateTimeCodec.format(minutes).length();
+                break;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        if (checksum != (long) calls * DateTimeCodec.LENGTH) {
+            throw new IllegalStateException("Round trips lost characters: " + checksum);
+        }
+
+        return (double) elapsed / calls;
+    }
+}
@@ -2,22 +2,31 @@ package katsu;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.Arrays;
-import java.util.Objects;
-
-import katsu.parser.Parser;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import katsu.parser.Command;
+import katsu.parser.QueryParser;
+import katsu.reminder.ReminderScheduler;
+import katsu.response.ChunkedResponse;
 import katsu.response.ErrorResponse;
 import katsu.response.KatsuResponse;
 import katsu.response.SuccessResponse;
+import katsu.storage.SaveFormat;
 import katsu.storage.Storage;
 import katsu.tasks.CustomList;
 import katsu.tasks.Deadline;
 import katsu.tasks.Event;
+import katsu.tasks.Query;
 import katsu.tasks.ToDo;
+import katsu.tasks.UndoHistory;
 import katsu.ui.Ui;
-import katsu.util.DateUtils;
+import katsu.util.DateTimeCodec;
 
 /**
  * Main class for Katsu the Duck application.
@@ -27,8 +36,15 @@ import katsu.util.DateUtils;
 public class Katsu {
     public static final String NAME = "Katsu the Duck";
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int LIST_CHUNK_SIZE = 200;
+
     private CustomList tasks;
     private Storage storage;
+    private ReminderScheduler reminders;
+    private UndoHistory history;
+    private Consumer<String> reminderSink;
 
     /**
      * Constructs a new <code>Katsu</code> object.
@@ -38,6 +54,7 @@ public class Katsu {
     public Katsu() {
         this.tasks = new CustomList();
         this.storage = new Storage();
+        this.reminderSink = message -> System.out.println(Ui.INDENT + message.replace("\n", "\n" + Ui.INDENT));
     }
 
     /**
@@ -51,8 +68,7 @@ public class Katsu {
 
     /**
      * Starts the Katsu application.
-     * Loads tasks from storage, prints the welcome message, and listens for user input
-     * until the application is deactivated.
+     * Loads tasks from storage and starts journaling every change made to them.
      */
     public void run() {
         try {
@@ -61,6 +77,46 @@ public class Katsu {
             System.out.println(Ui.INDENT + "No save file found.");
         } catch (ArrayIndexOutOfBoundsException e) {
             System.out.println(Ui.INDENT + "Wrong task format in save file.");
+        } catch (IOException e) {
+            System.out.println(Ui.INDENT + "Error while reading save file.");
+        }
+
+        try {
+            this.storage.startJournal(this.tasks);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flushJournal));
+        } catch (IOException e) {
+            System.out.println(Ui.INDENT + "⚠ Could not open the journal, changes will only be saved on exit.");
+        }
+
+        this.reminders = new ReminderScheduler(this.tasks, this.reminderSink);
+        this.tasks.addObserver(this.reminders);
+        this.reminders.scheduleAll();
+
+        this.history = new UndoHistory(this.tasks);
+        this.tasks.addObserver(this.history);
+    }
+
+    /**
+     * Sends reminders to the given sink instead of the standard output, such as the GUI's dialog.
+     *
+     * @param sink where the text of every reminder is sent, from a background thread
+     */
+    public void setReminderSink(Consumer<String> sink) {
+        this.reminderSink = sink;
+
+        if (this.reminders != null) {
+            this.reminders.setSink(sink);
+        }
+    }
+
+    /**
+     * Writes the changes still waiting for the autosave, for when the application exits without <code>bye</code>.
+     */
+    private void flushJournal() {
+        try {
+            this.storage.flush();
+        } catch (IOException e) {
+            System.out.println(Ui.INDENT + "⚠ Could not write to the journal: " + e.getMessage());
         }
     }
 
@@ -72,17 +128,28 @@ public class Katsu {
         StringBuilder text = new StringBuilder();
 
         text.append("Here are some commands you could use ꒰ঌ( •ө• )໒꒱:\n");
-        text.append("1. list (to show all of your tasks)\n");
+        text.append("1. list [page] [page size] (to show your tasks a page at a time, or list all)\n");
         text.append("2. todo <description> (to add a todo to your task list)\n");
         text.append("3. deadline <description> /by <yyyy-MM-dd HH:mm>"
                 + "(to add a deadline to your task list)\n");
         text.append("4. event <description> /from <yyyy-MM-dd> /to <yyyy-MM-dd>"
                 + "(to add an event to your task list)\n");
-        text.append("5. mark <task number> (to mark a task as completed)\n");
-        text.append("6. unmark <task number> (to unmark a completed task)\n");
+        text.append("5. mark <task number or #ID> (to mark a task as completed, or several like 1-5,8)\n");
+        text.append("6. unmark <task number or #ID> (to unmark a completed task, or several like 1-5,8)\n");
         text.append("7. find <description> (to list all task with matching description)\n");
-        text.append("8. delete <task number> (to delete a task from your list)\n");
-        text.append("9. bye (to end our chat)");
+        text.append("8. delete <task number or #ID> (to delete a task from your list, or several like 3,7,9-20)\n");
+        text.append("9. find~ <word> (to list all task with a word close to the given one, typos allowed)\n");
+        text.append("10. convert <text/binary> (to change the format of your save file)\n");
+        text.append("11. query <filters> (to list tasks matching filters such as"
+                + " type:D AND NOT done:true AND before:2026-12-01)\n");
+        text.append("12. on <yyyy-MM-dd> (to show the deadlines and events on a day)\n");
+        text.append("13. between <yyyy-MM-dd> <yyyy-MM-dd> (to show the deadlines and events in a period)\n");
+        text.append("14. overlaps <task number> (to show the deadlines and events clashing with a task)\n");
+        text.append("15. conflicts (to show every pair of events that clash)\n");
+        text.append("16. remind <minutes before> ... (to choose when to be reminded of deadlines and events)\n");
+        text.append("17. undo (to undo your last add, mark, unmark or delete)\n");
+        text.append("18. redo (to redo what you last undid)\n");
+        text.append("19. bye (to end our chat)");
 
         return new SuccessResponse("", text.toString());
     }
@@ -94,10 +161,13 @@ public class Katsu {
     public KatsuResponse deactivate() {
         try {
             this.storage.save(this.tasks);
+            this.storage.close();
         } catch (IOException e) {
             String error = "Error while saving file.\nPlease try again later.";
             KatsuResponse katsuResponse = new ErrorResponse("", error);
             return katsuResponse;
+        } finally {
+            this.reminders.shutdown();
         }
 
         return new SuccessResponse("", "exit_application");
@@ -105,33 +175,69 @@ public class Katsu {
     }
 
     /**
-     * Prints all tasks in the task tasks if not empty,
+     * Prints one page of the tasks in the task tasks if not empty,
      * otherwise prints a message indicating the tasks is empty.
+     * Only the tasks on the page are rendered. <code>list all</code> prints every task in chunks instead.
+     *
+     * @param command the list command, optionally with the page number and the page size.
      */
-    public KatsuResponse printList() {
-        StringBuilder allTasks = new StringBuilder();
+    public KatsuResponse printList(Command command) {
+        String input = command.getInput();
+
+        if (this.tasks.isEmpty()) {
+            return new SuccessResponse("", "Quack! Your task list is empty.");
+        }
+
+        if (command.size() > 1 && command.get(1).equalsIgnoreCase("all")) {
+            return new ChunkedResponse("", "Here is all of your task, Quack!",
+                    () -> this.tasks.streamList(LIST_CHUNK_SIZE));
+        }
+
+        int page;
+        int pageSize;
+        try {
+            page = (command.size() > 1) ? Integer.parseInt(command.get(1)) : 1;
+            pageSize = (command.size() > 2) ? Integer.parseInt(command.get(2)) : DEFAULT_PAGE_SIZE;
+        } catch (NumberFormatException e) {
+            return new ErrorResponse(input, "⚠ Quack! That does not look like a number... •᷄ɞ•");
+        }
+
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return new ErrorResponse(input, "⚠ Quack! A page can show 1 to " + MAX_PAGE_SIZE + " tasks.");
+        }
 
-        if (!this.tasks.isEmpty()) {
-            allTasks.append("Here is all of your task, Quack!\n");
-            allTasks.append(this.tasks.printList());
-        } else {
-            allTasks.append("Quack! Your task list is empty.");
+        int size = this.tasks.size();
+        int pageCount = (size + pageSize - 1) / pageSize;
+        if (page < 1 || page > pageCount) {
+            return new ErrorResponse(input, "⚠ Quack! There is no page " + page + ", your list has "
+                    + pageCount + (pageCount == 1 ? " page." : " pages."));
         }
-        return new SuccessResponse("", allTasks.toString());
+
+        int from = (page - 1) * pageSize;
+        int to = Math.min(size, from + pageSize);
+
+        if (pageCount == 1) {
+            return new SuccessResponse("", "Here is all of your task, Quack!\n" + this.tasks.printRange(from, to));
+        }
+
+        String footer = (page < pageCount)
+                ? "(Page " + page + " of " + pageCount + ", type \"list " + (page + 1) + "\" for the next one.)"
+                : "(Page " + page + " of " + pageCount + ".)";
+
+        return new SuccessResponse("", "Here are your tasks " + (from + 1) + " to " + to + " of " + size
+                + ", Quack!\n" + this.tasks.printRange(from, to) + "\n" + footer);
     }
 
     /**
      * Adds a task of type TODO to the task tasks.
      *
-     * @param words Array of user input words for the task.
+     * @param command the todo command, with the description of the task.
      */
-    public KatsuResponse addToDo(String... words) {
-        String newTask = String.join(" ", Arrays.stream(words).skip(1).toArray(String[]::new))
-                .replaceAll("\\s+", " ").trim();
+    public KatsuResponse addToDo(Command command) {
+        String newTask = command.getTextFrom(1);
 
         if (newTask.isEmpty()) {
-            String userInput = String.join(" ", words).trim();
-            return new ErrorResponse(userInput, "⚠ Quack! You're missing the todo's description.");
+            return new ErrorResponse(command.getInput(), "⚠ Quack! You're missing the todo's description.");
         }
 
         return new SuccessResponse("", this.tasks.add(new ToDo(newTask), false));
@@ -140,39 +246,28 @@ public class Katsu {
     /**
      * Adds a task of type DEADLINE to the task tasks.
      *
-     * @param words Array of user input words for the task.
+     * @param command the deadline command, with the description of the task and its deadline.
      */
-    public KatsuResponse addDeadline(String... words) {
-        // Normalize redundant spaces in each word and rebuild
-        String input = String.join(" ", words)
-                .trim()
-                .replaceAll("\\s+", " "); // collapse multiple spaces
+    public KatsuResponse addDeadline(Command command) {
+        String input = command.getInput();
+        int byPosition = command.indexOf(Command.Flag.BY);
 
-        // Split normalized input back into array
-        String[] cleanedWords = input.split(" ");
-
-        String newTask;
-        String newDeadline;
-        int byPosition = Parser.findWord(cleanedWords, "/by", -1);
-
-        newTask = (byPosition == -1)
-                ? String.join(" ", Arrays.copyOfRange(cleanedWords, 1, cleanedWords.length))
-                : String.join(" ", Arrays.copyOfRange(cleanedWords, 1, byPosition));
+        String newTask = (byPosition == -1) ? command.getTextFrom(1) : command.getText(1, byPosition);
 
         if (newTask.isEmpty()) {
             return new ErrorResponse(input,
                     "⚠ Quack! You're missing the deadline's description.");
         }
 
-        if (byPosition == -1 || byPosition + 1 >= cleanedWords.length) {
+        if (byPosition == -1 || byPosition + 1 >= command.size()) {
             return new ErrorResponse(input,
                     "⚠ Quack! You're missing the deadline.\n(use '/by' followed by the deadline).");
         }
 
-        newDeadline = String.join(" ", Arrays.copyOfRange(cleanedWords, byPosition + 1, cleanedWords.length));
+        String newDeadline = command.getTextFrom(byPosition + 1);
 
         try {
-            LocalDateTime deadline = DateUtils.convertStringToDateTime(newDeadline);
+            long deadline = DateTimeCodec.parseMinutes(newDeadline);
             return new SuccessResponse("", this.tasks.add(new Deadline(newTask, deadline), false));
         } catch (DateTimeParseException e) {
             return new ErrorResponse(input,
@@ -184,47 +279,43 @@ public class Katsu {
     /**
      * Adds a task of type EVENT to the task tasks.
      *
-     * @param words Array of user input words for the task.
+     * @param command the event command, with the description of the task and its start and end times.
      */
-    public KatsuResponse addEvent(String... words) {
-        String input = String.join(" ", words).trim().replaceAll("\\s+", " ");
-        String[] cleanedWords = input.split(" ");
-
-        int fromPos = Parser.findWord(cleanedWords, "/from", -1);
-        int toPos = Parser.findWord(cleanedWords, "/to", fromPos + 1);
+    public KatsuResponse addEvent(Command command) {
+        String input = command.getInput();
+        int fromPos = command.indexOf(Command.Flag.FROM);
+        int toPos = command.indexOf(Command.Flag.TO);
 
         // Extract task description
-        String newTask = (fromPos == -1)
-                ? String.join(" ", Arrays.copyOfRange(cleanedWords, 1, cleanedWords.length))
-                : String.join(" ", Arrays.copyOfRange(cleanedWords, 1, fromPos));
+        String newTask = (fromPos == -1) ? command.getTextFrom(1) : command.getText(1, fromPos);
 
         if (newTask.isEmpty()) {
             return new ErrorResponse(input,
                     "⚠ Quack! You're missing the event's description.\n");
         }
 
-        if (fromPos == -1 || fromPos + 1 >= cleanedWords.length) {
+        if (fromPos == -1 || fromPos + 1 >= command.size()) {
             return new ErrorResponse(input,
                     "⚠ Quack! You're missing the event's starting time.\n(use '/from' followed by the start time).");
         }
 
         // Extract start time
         String newStartTime = (toPos == -1)
-                ? String.join(" ", Arrays.copyOfRange(cleanedWords, fromPos + 1, cleanedWords.length))
-                : String.join(" ", Arrays.copyOfRange(cleanedWords, fromPos + 1, toPos));
+                ? command.getTextFrom(fromPos + 1)
+                : command.getText(fromPos + 1, toPos);
 
         if (newStartTime.isEmpty()) {
             return new ErrorResponse(input,
                     "⚠ Quack! You're missing the event's starting time.\n(use '/from' followed by the start time).");
         }
 
-        if (toPos == -1 || toPos + 1 >= cleanedWords.length) {
+        if (toPos == -1 || toPos + 1 >= command.size()) {
             return new ErrorResponse(input,
                     "⚠ Quack! You're missing the event's ending time.\n(use '/to' followed by the end time).");
         }
 
         // Extract end time
-        String newEndTime = String.join(" ", Arrays.copyOfRange(cleanedWords, toPos + 1, cleanedWords.length));
+        String newEndTime = command.getTextFrom(toPos + 1);
 
         if (newEndTime.isEmpty()) {
             return new ErrorResponse(input,
@@ -232,10 +323,10 @@ public class Katsu {
         }
 
         try {
-            LocalDateTime startDate = DateUtils.convertStringToDateTime(newStartTime);
-            LocalDateTime endDate = DateUtils.convertStringToDateTime(newEndTime);
+            long startDate = DateTimeCodec.parseMinutes(newStartTime);
+            long endDate = DateTimeCodec.parseMinutes(newEndTime);
 
-            if (!startDate.isBefore(endDate)) {
+            if (startDate >= endDate) {
                 // start is equal or after end → invalid
                 return new ErrorResponse(input,
                         "⚠ Quack! The event's start time must be before the end time.");
@@ -253,16 +344,17 @@ public class Katsu {
      * Handle marking task in the task tasks.
      * Either mark or unmark the task as done.
      *
-     * @param command Either "mark" or "unmark".
-     * @param words Array of user input words for the task.
+     * @param command the mark or unmark command, with the task numbers.
      */
-    public KatsuResponse handleMarking(String command, String... words) {
-        String input = String.join(" ", words).trim().replaceAll("\\s+", " ");
-        String[] cleanedWords = input.split(" ");
+    public KatsuResponse handleMarking(Command command) {
+        String input = command.getInput();
+        boolean isMark = command.getName().equalsIgnoreCase("mark");
 
         try {
-            String taskNum = cleanedWords[1];
-            if (Objects.equals(command, "mark")) {
+            String taskNum = command.get(1);
+            if (isBatch(command)) {
+                return this.tasks.markAll(joinSelector(command), isMark, input);
+            } else if (isMark) {
                 return this.tasks.markCompleted(taskNum, input);
             } else {
                 return this.tasks.markUncompleted(taskNum, input);
@@ -279,14 +371,16 @@ public class Katsu {
     /**
      * Handle deletion of task in the task tasks.
      *
-     * @param words Array of user input words for the task.
+     * @param command the delete command, with the task numbers.
      */
-    public KatsuResponse handleDelete(String... words) {
-        String input = String.join(" ", words).trim().replaceAll("\\s+", " ");
-        String[] cleanedWords = input.split(" ");
+    public KatsuResponse handleDelete(Command command) {
+        String input = command.getInput();
 
         try {
-            String taskNum = cleanedWords[1];
+            String taskNum = command.get(1);
+            if (isBatch(command)) {
+                return new SuccessResponse("", this.tasks.deleteAll(joinSelector(command)));
+            }
             return new SuccessResponse("", this.tasks.deleteTask(taskNum));
         } catch (ArrayIndexOutOfBoundsException e) {
             return new ErrorResponse(input, "⚠ Quack! You forgot the task number.");
@@ -294,40 +388,202 @@ public class Katsu {
             return new ErrorResponse(input, "⚠ Quack! That does not look like a number... •᷄ɞ•");
         } catch (IndexOutOfBoundsException e) {
             return new ErrorResponse(input, "⚠ Quack! You do not have that task number.");
+        } catch (IllegalArgumentException e) {
+            return new ErrorResponse(input, "⚠ Quack! " + e.getMessage());
         }
     }
 
+    /**
+     * Checks whether a mark, unmark or delete command selects several tasks, such as <code>3,7,9-20</code>.
+     */
+    private static boolean isBatch(Command command) {
+        String selector = joinSelector(command);
+        return selector.contains(",") || selector.indexOf('-', 1) > 0;
+    }
+
+    /**
+     * Joins the words after the command, so that a selector may be typed with spaces, such as <code>3, 7</code>.
+     */
+    private static String joinSelector(Command command) {
+        return command.getTextFrom(1).replace(" ", "");
+    }
+
+    /**
+     * Undoes the most recent change made to the task list.
+     */
+    public KatsuResponse handleUndo() {
+        return this.history.undo();
+    }
+
+    /**
+     * Redoes the most recently undone change to the task list.
+     */
+    public KatsuResponse handleRedo() {
+        return this.history.redo();
+    }
+
     /**
      * Handles searching for tasks containing a specific keyword.
      *
-     * @param words array of user input words containing the search keyword
+     * @param command the find command, with the search keywords
      */
-    public KatsuResponse handleFind(String... words) {
-        String input = String.join(" ", words).trim().replaceAll("\\s+", " ");
-        String[] cleanedWords = input.split(" ");
+    public KatsuResponse handleFind(Command command) {
+        if (command.size() < 2) {
+            return new ErrorResponse(command.getInput(), "⚠ Quack! What do you want to find?");
+        }
 
-        try {
-            return new SuccessResponse("", this.tasks.findKeyword(cleanedWords));
-        } catch (ArrayIndexOutOfBoundsException e) {
+        return new SuccessResponse("", this.tasks.findKeyword(command.getWordsFrom(1)));
+    }
+
+    /**
+     * Handles searching for tasks with words similar to the given ones, tolerating typos.
+     *
+     * @param command the fuzzy find command, with the possibly misspelt search words
+     */
+    public KatsuResponse handleFuzzyFind(Command command) {
+        if (command.size() < 2) {
+            return new ErrorResponse(command.getInput(), "⚠ Quack! What do you want to find?");
+        }
+
+        return new SuccessResponse("", this.tasks.findSimilar(command.getWordsFrom(1)));
+    }
+
+    /**
+     * Handles listing the tasks matching a query built from words, quoted phrases and filters
+     * on type, completion and date, combined with AND, OR and NOT.
+     *
+     * @param command the query command, with the query
+     */
+    public KatsuResponse handleQuery(Command command) {
+        String input = command.getInput();
+
+        if (command.size() < 2) {
             return new ErrorResponse(input, "⚠ Quack! What do you want to find?");
         }
+
+        Query query;
+        try {
+            query = QueryParser.parse(command.getTextFrom(1));
+        } catch (IllegalArgumentException e) {
+            return new ErrorResponse(input, "⚠ Quack! " + e.getMessage());
+        }
+
+        return new SuccessResponse("", this.tasks.findMatching(query));
+    }
+
+    /**
+     * Handles showing the deadlines and events on a given day.
+     *
+     * @param command the on command, with the day
+     */
+    public KatsuResponse handleOn(Command command) {
+        String input = command.getInput();
+
+        if (command.size() != 2) {
+            return new ErrorResponse(input, "⚠ Quack! Which day do you want to see? (yyyy-MM-dd)");
+        }
+
+        try {
+            return new SuccessResponse("", this.tasks.findOn(LocalDate.parse(command.get(1))));
+        } catch (DateTimeParseException e) {
+            return new ErrorResponse(input, "⚠ Quack! Please use the date format: yyyy-MM-dd");
+        }
+    }
+
+    /**
+     * Handles showing the deadlines and events on any day of a period.
+     *
+     * @param command the between command, with the first and last days of the period
+     */
+    public KatsuResponse handleBetween(Command command) {
+        String input = command.getInput();
+
+        if (command.size() != 3) {
+            return new ErrorResponse(input, "⚠ Quack! Which days do you want to see? (yyyy-MM-dd yyyy-MM-dd)");
+        }
+
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = LocalDate.parse(command.get(1));
+            to = LocalDate.parse(command.get(2));
+        } catch (DateTimeParseException e) {
+            return new ErrorResponse(input, "⚠ Quack! Please use the date format: yyyy-MM-dd");
+        }
+
+        if (to.isBefore(from)) {
+            return new ErrorResponse(input, "⚠ Quack! The first day should not be after the last day.");
+        }
+
+        return new SuccessResponse("", this.tasks.findBetween(from, to));
+    }
+
+    /**
+     * Handles showing the deadlines and events whose time overlaps with a task's.
+     *
+     * @param command the overlaps command, with the task number
+     */
+    public KatsuResponse handleOverlaps(Command command) {
+        if (command.size() < 2) {
+            return new ErrorResponse(command.getInput(), "⚠ Quack! You forgot the task number.");
+        }
+
+        return this.tasks.findOverlapping(command.get(1), command.getInput());
+    }
+
+    /**
+     * Handles showing every pair of events that are booked over each other.
+     */
+    public KatsuResponse printConflicts() {
+        return new SuccessResponse("", this.tasks.findConflicts());
+    }
+
+    /**
+     * Handles choosing how many minutes before deadlines and events the reminders are sent.
+     * Without any number, shows the current choice.
+     *
+     * @param command the remind command, with the numbers of minutes
+     */
+    public KatsuResponse handleRemind(Command command) {
+        String input = command.getInput();
+
+        if (command.size() > 1) {
+            List<Duration> leadTimes = new ArrayList<>();
+            try {
+                for (int i = 1; i < command.size(); i++) {
+                    int minutes = Integer.parseInt(command.get(i));
+                    if (minutes < 0) {
+                        throw new NumberFormatException(command.get(i));
+                    }
+                    leadTimes.add(Duration.ofMinutes(minutes));
+                }
+            } catch (NumberFormatException e) {
+                return new ErrorResponse(input,
+                        "⚠ Quack! Please give the number of minutes before, like: remind 1440 60 0");
+            }
+            this.reminders.setLeadTimes(leadTimes);
+        }
+
+        return new SuccessResponse("", "Quack! I will remind you of deadlines and events: "
+                + this.reminders.getLeadTimes().stream()
+                        .map(ReminderScheduler::describe)
+                        .collect(Collectors.joining(", ")) + ".");
     }
 
     /**
      * Handles the sort command by delegating to appropriate sorting methods.
      * Supports sorting by "earliest" or "latest" criteria.
      *
-     * @param words the command words containing the sort direction
+     * @param command the sort command, with the sort direction
      * @return a formatted string with sorted tasks or an error message
      */
-    public KatsuResponse handleSort(String... words) {
-        String input = String.join(" ", words).trim().replaceAll("\\s+", " ");
-        String[] cleanedWords = input.split(" ");
+    public KatsuResponse handleSort(Command command) {
+        String input = command.getInput();
 
         try {
-            if (cleanedWords[1].equalsIgnoreCase("earliest")) {
+            if (command.get(1).equalsIgnoreCase("earliest")) {
                 return new SuccessResponse("", this.tasks.sortEarliest());
-            } else if (cleanedWords[1].equalsIgnoreCase("latest")) {
+            } else if (command.get(1).equalsIgnoreCase("latest")) {
                 return new SuccessResponse("", this.tasks.sortLatest());
             } else {
                 return new ErrorResponse(input,
@@ -338,4 +594,31 @@ public class Katsu {
                     "⚠ Quack! Which way do you want to sort? (earliest/latest)");
         }
     }
+
+    /**
+     * Handles converting the save file between the text and binary formats.
+     *
+     * @param command the convert command, with the target format
+     * @return a confirmation of the conversion or an error message
+     */
+    public KatsuResponse handleConvert(Command command) {
+        String input = command.getInput();
+        SaveFormat format;
+
+        try {
+            format = SaveFormat.valueOf(command.get(1).toUpperCase());
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            return new ErrorResponse(input,
+                    "⚠ Quack! Which format do you want to save in? (text/binary)");
+        }
+
+        try {
+            this.storage.convert(format, this.tasks);
+        } catch (IOException e) {
+            return new ErrorResponse(input, "Error while saving file.\nPlease try again later.");
+        }
+
+        return new SuccessResponse("", "Quack! Your save file is now in the "
+                + format.name().toLowerCase() + " format.");
+    }
 }
@@ -0,0 +1,216 @@
+package katsu.parser;
+
+import java.util.Arrays;
+
+/**
+ * A command typed by the user, split into words in a single scan of the input.
+ * Words are kept as index ranges into the input with its whitespace collapsed, so that a run of words,
+ * such as the description of a task, is one <code>substring</code> and no word is copied until it is asked for.
+ * The positions of the <code>/by</code>, <code>/from</code> and <code>/to</code> flags are found during
+ * the same scan.
+ */
+public class Command {
+    private static final int INITIAL_WORDS = 8;
+
+    private final String input;
+    private final int[] starts;
+    private final int[] ends;
+    private final int size;
+    private final int[] flags;
+
+    private Command(String input, int[] starts, int[] ends, int size, int[] flags) {
+        this.input = input;
+        this.starts = starts;
+        this.ends = ends;
+        this.size = size;
+        this.flags = flags;
+    }
+
+    /**
+     * Splits a command into words, on any run of whitespace.
+     *
+     * @param text the command as typed by the user
+     * @return the parsed command
+     */
+    public static Command parse(String text) {
+        int[] starts = new int[INITIAL_WORDS];
+        int[] ends = new int[INITIAL_WORDS];
+        int[] flags = {-1, -1, -1};
+        int size = 0;
+        int length = 0;
+        boolean isNormal = true;
+        int i = 0;
+
+        while (i < text.length()) {
+            if (isWhitespace(text.charAt(i))) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            while (i < text.length() && !isWhitespace(text.charAt(i))) {
+                i++;
+            }
+
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+
+            // Record the word where it will sit once whitespace is collapsed to single spaces
+            int normalStart = (size == 0) ? 0 : length + 1;
+            isNormal &= (start == normalStart) && (size == 0 || text.charAt(start - 1) == ' ');
+            starts[size] = normalStart;
+            ends[size] = normalStart + (i - start);
+            length = ends[size];
+            findFlag(text, start, i, size, flags);
+            size++;
+        }
+
+        String input = (isNormal && length == text.length()) ? text : collapse(text, length);
+        return new Command(input, starts, ends, size, flags);
+    }
+
+    /**
+     * Returns the command with every run of whitespace collapsed to a single space, as shown in errors.
+     */
+    public String getInput() {
+        return this.input;
+    }
+
+    /**
+     * Returns the first word of the command, or an empty string if there is none.
+     */
+    public String getName() {
+        return (this.size == 0) ? "" : this.get(0);
+    }
+
+    /**
+     * Returns the number of words in the command, including its name.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a word of the command.
+     *
+     * @param index the position of the word, where the name of the command is 0
+     * @return the word
+     * @throws ArrayIndexOutOfBoundsException if the command has no word at the position
+     */
+    public String get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size);
+        }
+
+        return this.input.substring(this.starts[index], this.ends[index]);
+    }
+
+    /**
+     * Returns the words from one position up to another, separated by single spaces.
+     *
+     * @param from the position of the first word
+     * @param to the position after the last word
+     * @return the words, or an empty string if there are none between the positions
+     */
+    public String getText(int from, int to) {
+        int end = Math.min(to, this.size);
+        return (from >= end) ? "" : this.input.substring(this.starts[from], this.ends[end - 1]);
+    }
+
+    /**
+     * Returns the words from a position to the end of the command, separated by single spaces.
+     *
+     * @param from the position of the first word
+     * @return the words, or an empty string if there are none
+     */
+    public String getTextFrom(int from) {
+        return this.getText(from, this.size);
+    }
+
+    /**
+     * Returns the words from a position to the end of the command.
+     *
+     * @param from the position of the first word
+     * @return the words
+     */
+    public String[] getWordsFrom(int from) {
+        String[] words = new String[Math.max(0, this.size - from)];
+
+        for (int i = 0; i < words.length; i++) {
+            words[i] = this.get(from + i);
+        }
+
+        return words;
+    }
+
+    /**
+     * Returns the position of a flag, or -1 if the command does not have it.
+     * The <code>/to</code> flag is only looked for after the <code>/from</code> flag, if there is one.
+     *
+     * @param flag the flag to look for
+     * @return the position of the first occurrence of the flag after the name of the command
+     */
+    public int indexOf(Flag flag) {
+        return this.flags[flag.ordinal()];
+    }
+
+    private static void findFlag(String text, int start, int end, int index, int[] flags) {
+        if (index == 0 || text.charAt(start) != '/') {
+            return;
+        }
+
+        for (Flag flag : Flag.values()) {
+            if (flags[flag.ordinal()] == -1 && flag.text.length() == end - start
+                    && text.startsWith(flag.text, start)) {
+                flags[flag.ordinal()] = index;
+                if (flag == Flag.FROM) {
+                    // A /to before /from does not end the start time
+                    flags[Flag.TO.ordinal()] = -1;
+                }
+            }
+        }
+    }
+
+    private static String collapse(String text, int length) {
+        StringBuilder collapsed = new StringBuilder(length);
+        int i = 0;
+
+        while (i < text.length()) {
+            if (isWhitespace(text.charAt(i))) {
+                i++;
+                continue;
+            }
+
+            if (collapsed.length() > 0) {
+                collapsed.append(' ');
+            }
+            while (i < text.length() && !isWhitespace(text.charAt(i))) {
+                collapsed.append(text.charAt(i++));
+            }
+        }
+
+        return collapsed.toString();
+    }
+
+    /**
+     * Checks for the same whitespace as <code>\s</code> in a regular expression.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * The flags that separate the parts of a command that adds a task.
+     */
+    public enum Flag {
+        BY("/by"), FROM("/from"), TO("/to");
+
+        private final String text;
+
+        Flag(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import katsu.response.KatsuResponse;
 /**
  * Handles parsing and processing of user commands for the Katsu application.
  * Translates user input into appropriate actions for the bot.
+ * The input is split into a <code>Command</code> once, which every handler reads its arguments from.
  */
 public class Parser {
 
@@ -21,42 +22,30 @@ public class Parser {
             return new ErrorResponse("", "⚠ Quack! Please type a command.");
         }
 
-        String[] words = order.strip().split(" ");
+        Command command = Command.parse(order);
 
-        return switch (words[0].toLowerCase()) {
+        return switch (command.getName().toLowerCase()) {
         case "help" -> bot.printAllCommands();
-        case "list", "ls" -> bot.printList();
-        case "todo", "td" -> bot.addToDo(words);
-        case "deadline", "dl" -> bot.addDeadline(words);
-        case "event", "e" -> bot.addEvent(words);
-        case "mark", "unmark" -> bot.handleMarking(words[0], words);
-        case "find", "f" -> bot.handleFind(words);
-        case "sort" -> bot.handleSort(words);
-        case "delete", "del" -> bot.handleDelete(words);
+        case "list", "ls" -> bot.printList(command);
+        case "todo", "td" -> bot.addToDo(command);
+        case "deadline", "dl" -> bot.addDeadline(command);
+        case "event", "e" -> bot.addEvent(command);
+        case "mark", "unmark" -> bot.handleMarking(command);
+        case "find", "f" -> bot.handleFind(command);
+        case "find~", "f~" -> bot.handleFuzzyFind(command);
+        case "query", "q" -> bot.handleQuery(command);
+        case "on" -> bot.handleOn(command);
+        case "between" -> bot.handleBetween(command);
+        case "overlaps" -> bot.handleOverlaps(command);
+        case "conflicts" -> bot.printConflicts();
+        case "remind" -> bot.handleRemind(command);
+        case "sort" -> bot.handleSort(command);
+        case "delete", "del" -> bot.handleDelete(command);
+        case "undo" -> bot.handleUndo();
+        case "redo" -> bot.handleRedo();
+        case "convert" -> bot.handleConvert(command);
         case "bye" -> bot.deactivate();
         default -> new ErrorResponse(order, "Quack, I don't know what that is... •᷄ɞ•");
         };
     }
-
-    /**
-     * Searches for a specific word in an array of words starting from a given index.
-     *
-     * @param words the array of words to search through
-     * @param word the target word to find
-     * @param startFrom the starting index for the search (-1 to start from index 1)
-     * @return the index of the found word, or -1 if not found
-     */
-    public static int findWord(String[] words, String word, int startFrom) {
-        int stopIndex = -1;
-        int index = (startFrom == -1) ? 1 : startFrom;
-
-        for (int i = index; i < words.length; i++) {
-            if (words[i].equals(word)) {
-                stopIndex = i;
-                break;
-            }
-        }
-
-        return stopIndex;
-    }
 }
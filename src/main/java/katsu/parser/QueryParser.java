@@ -0,0 +1,203 @@
+package katsu.parser;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import katsu.tasks.Query;
+
+/**
+ * Compiles the text of a <code>query</code> command into a <code>Query</code>.
+ * Terms are words, quoted phrases, <code>type:T|D|E</code>, <code>done:true|false</code>,
+ * <code>before:yyyy-MM-dd</code> and <code>after:yyyy-MM-dd</code>. Terms are combined with
+ * <code>NOT</code>, <code>AND</code> and <code>OR</code>, in that order of precedence, and grouped
+ * with parentheses. Adjacent terms without an operator are joined with <code>AND</code>.
+ */
+public class QueryParser {
+    private final List<Token> tokens;
+    private int position;
+
+    private QueryParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Compiles a query.
+     *
+     * @param input the query text
+     * @return the compiled query
+     * @throws IllegalArgumentException if the query is malformed
+     */
+    public static Query parse(String input) {
+        QueryParser parser = new QueryParser(tokenize(input));
+
+        if (parser.tokens.isEmpty()) {
+            throw new IllegalArgumentException("The query is empty.");
+        }
+
+        Query query = parser.parseOr();
+
+        if (parser.position < parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected \"" + parser.peek().text + "\" in the query.");
+        }
+
+        return query;
+    }
+
+    private static List<Token> tokenize(String input) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+
+        while (i < input.length()) {
+            char c = input.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(new Token(String.valueOf(c), false));
+                i++;
+            } else if (c == '"') {
+                int end = input.indexOf('"', i + 1);
+                if (end == -1) {
+                    throw new IllegalArgumentException("A quoted phrase is missing its closing quote.");
+                }
+                tokens.add(new Token(input.substring(i + 1, end), true));
+                i = end + 1;
+            } else {
+                int start = i;
+                while (i < input.length() && !Character.isWhitespace(input.charAt(i))
+                        && "()\"".indexOf(input.charAt(i)) == -1) {
+                    i++;
+                }
+                tokens.add(new Token(input.substring(start, i), false));
+            }
+        }
+
+        return tokens;
+    }
+
+    private Query parseOr() {
+        Query query = this.parseAnd();
+
+        while (this.accept("OR")) {
+            query = Query.or(query, this.parseAnd());
+        }
+
+        return query;
+    }
+
+    private Query parseAnd() {
+        Query query = this.parseUnary();
+
+        while (this.position < this.tokens.size() && !this.peek().is("OR") && !this.peek().is(")")) {
+            this.accept("AND");
+            query = Query.and(query, this.parseUnary());
+        }
+
+        return query;
+    }
+
+    private Query parseUnary() {
+        if (this.accept("NOT")) {
+            return Query.not(this.parseUnary());
+        }
+
+        if (this.accept("(")) {
+            Query query = this.parseOr();
+            if (!this.accept(")")) {
+                throw new IllegalArgumentException("A bracket in the query is never closed.");
+            }
+            return query;
+        }
+
+        return this.parseTerm();
+    }
+
+    private Query parseTerm() {
+        if (this.position >= this.tokens.size()) {
+            throw new IllegalArgumentException("The query ends too early.");
+        }
+
+        Token token = this.tokens.get(this.position++);
+
+        if (token.isQuoted) {
+            return Query.text(token.text);
+        }
+
+        if (token.is("AND") || token.is("OR") || token.is(")")) {
+            throw new IllegalArgumentException("Unexpected \"" + token.text + "\" in the query.");
+        }
+
+        int colon = token.text.indexOf(':');
+        if (colon == -1) {
+            return Query.text(token.text);
+        }
+
+        String field = token.text.substring(0, colon).toLowerCase();
+        String value = token.text.substring(colon + 1);
+
+        return switch (field) {
+        case "type" -> Query.type(parseType(value));
+        case "done" -> Query.done(parseBoolean(value));
+        case "before" -> Query.before(parseDate(value));
+        case "after" -> Query.after(parseDate(value));
+        default -> Query.text(token.text);
+        };
+    }
+
+    private static char parseType(String value) {
+        return switch (value.toLowerCase()) {
+        case "t", "todo" -> 'T';
+        case "d", "deadline" -> 'D';
+        case "e", "event" -> 'E';
+        default -> throw new IllegalArgumentException("Task types are T, D or E, not \"" + value + "\".");
+        };
+    }
+
+    private static boolean parseBoolean(String value) {
+        return switch (value.toLowerCase()) {
+        case "true", "yes" -> true;
+        case "false", "no" -> false;
+        default -> throw new IllegalArgumentException("\"done:\" takes true or false, not \"" + value + "\".");
+        };
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Dates in queries look like 2026-12-01, not \"" + value + "\".");
+        }
+    }
+
+    private Token peek() {
+        return this.tokens.get(this.position);
+    }
+
+    private boolean accept(String text) {
+        if (this.position < this.tokens.size() && this.peek().is(text)) {
+            this.position++;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * A word, bracket or quoted phrase of the query. Quoted phrases are never operators.
+     */
+    private static class Token {
+        private final String text;
+        private final boolean isQuoted;
+
+        Token(String text, boolean isQuoted) {
+            this.text = text;
+            this.isQuoted = isQuoted;
+        }
+
+        boolean is(String other) {
+            return !this.isQuoted && this.text.equals(other);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package katsu.reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import katsu.tasks.CustomList;
+import katsu.tasks.Deadline;
+import katsu.tasks.ListObserver;
+import katsu.tasks.Schedulable;
+import katsu.tasks.Task;
+
+/**
+ * Reminds the user of upcoming deadlines and event starts, a set of lead times ahead.
+ * Every pending reminder waits in one priority queue ordered by firing time, and a single background
+ * thread is only ever scheduled for the earliest of them, so the number of tasks costs no extra threads.
+ * Completing or deleting a task does not search the queue: the task's reminders just become stale
+ * and are skipped when they come up. Once stale reminders make up most of the queue, they are purged
+ * in one pass, so the queue stays proportional to the reminders still to be sent.
+ * The background thread never touches a task: the text of its reminders is rendered when they are
+ * queued, on the thread that changes the list.
+ */
+public class ReminderScheduler implements ListObserver {
+    public static final List<Duration> DEFAULT_LEAD_TIMES = List.of(Duration.ofDays(1), Duration.ofHours(1),
+            Duration.ZERO);
+    private static final int MIN_PURGE_SIZE = 64;
+
+    private final CustomList tasks;
+    private final Clock clock;
+    private final ScheduledExecutorService executor;
+    private final PriorityQueue<Reminder> queue = new PriorityQueue<>(Comparator.comparingLong(Reminder::getFireAt));
+    private final Map<Task, Schedule> schedules = new IdentityHashMap<>();
+    private volatile Consumer<String> sink;
+    private List<Duration> leadTimes = DEFAULT_LEAD_TIMES;
+    private ScheduledFuture<?> armed;
+    private long armedAt;
+    private int nextGeneration;
+    private int liveCount;
+
+    /**
+     * Constructs a scheduler for the given task list that sends its reminders to a sink.
+     *
+     * @param tasks the task list to remind the user about
+     * @param sink where the text of every reminder is sent, from a background thread
+     */
+    public ReminderScheduler(CustomList tasks, Consumer<String> sink) {
+        this(tasks, sink, Clock.systemDefaultZone());
+    }
+
+    ReminderScheduler(CustomList tasks, Consumer<String> sink, Clock clock) {
+        this.tasks = tasks;
+        this.sink = sink;
+        this.clock = clock;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "katsu-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Describes how long before a deadline or event a reminder is sent, such as "1 hour before".
+     *
+     * @param leadTime the time between the reminder and the deadline or event
+     * @return the description of the lead time
+     */
+    public static String describe(Duration leadTime) {
+        return leadTime.isZero() ? "on time" : describeLength(leadTime) + " before";
+    }
+
+    /**
+     * Schedules the reminders of every uncompleted deadline and event already in the list.
+     */
+    public synchronized void scheduleAll() {
+        this.queue.clear();
+        this.schedules.clear();
+        this.liveCount = 0;
+
+        for (int i = 0; i < this.tasks.size(); i++) {
+            this.schedule(this.tasks.get(i));
+        }
+
+        this.rearm();
+    }
+
+    /**
+     * Changes how long before each deadline or event reminders are sent, and reschedules every reminder.
+     *
+     * @param leadTimes the lead times, none of them negative
+     */
+    public void setLeadTimes(List<Duration> leadTimes) {
+        synchronized (this) {
+            this.leadTimes = List.copyOf(leadTimes);
+        }
+
+        this.scheduleAll();
+    }
+
+    public synchronized List<Duration> getLeadTimes() {
+        return this.leadTimes;
+    }
+
+    public void setSink(Consumer<String> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Stops the background thread. Pending reminders are dropped.
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    @Override
+    public synchronized void onAdd(Task task) {
+        this.schedule(task);
+        this.rearm();
+    }
+
+    @Override
+    public synchronized void onInsert(int index, Task task) {
+        this.onAdd(task);
+    }
+
+    @Override
+    public synchronized void onMark(int index, boolean isComplete) {
+        Task task = this.tasks.get(index);
+
+        if (isComplete) {
+            this.forget(task);
+        } else {
+            this.schedule(task);
+            this.rearm();
+        }
+    }
+
+    @Override
+    public synchronized void onDelete(int index, Task task) {
+        this.forget(task);
+    }
+
+    /**
+     * Sends every reminder that is due, then waits for the next one.
+     */
+    void fireDue() {
+        List<String> messages = new ArrayList<>();
+
+        synchronized (this) {
+            long now = this.clock.millis();
+
+            while (!this.queue.isEmpty() && this.queue.peek().getFireAt() <= now) {
+                Reminder reminder = this.queue.poll();
+                if (this.isLive(reminder)) {
+                    this.sent(reminder);
+                    messages.add(reminder.getMessage());
+                }
+            }
+
+            this.armed = null;
+            this.rearm();
+        }
+
+        messages.forEach(this.sink);
+    }
+
+    /**
+     * Returns the number of reminders still to be sent.
+     */
+    synchronized int pendingCount() {
+        return this.liveCount;
+    }
+
+    /**
+     * Returns the number of reminders in the queue, counting stale ones that have not been purged yet.
+     */
+    synchronized int queuedCount() {
+        return this.queue.size();
+    }
+
+    private static String describeLength(Duration length) {
+        long amount;
+        String unit;
+
+        if (length.toMinutes() % (24 * 60) == 0) {
+            amount = length.toDays();
+            unit = "day";
+        } else if (length.toMinutes() % 60 == 0) {
+            amount = length.toHours();
+            unit = "hour";
+        } else {
+            amount = length.toMinutes();
+            unit = "minute";
+        }
+
+        return amount + " " + unit + (amount == 1 ? "" : "s");
+    }
+
+    /**
+     * Queues the reminders of a task that are still to come, replacing any it had.
+     */
+    private void schedule(Task task) {
+        if (!(task instanceof Schedulable) || task.isComplete()) {
+            return;
+        }
+
+        this.forget(task);
+        Schedule schedule = new Schedule(this.nextGeneration++);
+        String text = task.printTask();
+
+        LocalDateTime date = ((Schedulable) task).getComparableDate();
+        long dueAt = date.atZone(this.clock.getZone()).toInstant().toEpochMilli();
+        long now = this.clock.millis();
+
+        for (Duration leadTime : this.leadTimes) {
+            long fireAt = dueAt - leadTime.toMillis();
+            if (fireAt > now) {
+                this.queue.add(new Reminder(task, text, schedule.generation, leadTime, fireAt));
+                schedule.pending++;
+            }
+        }
+
+        if (schedule.pending > 0) {
+            this.schedules.put(task, schedule);
+            this.liveCount += schedule.pending;
+        }
+    }
+
+    /**
+     * Makes every queued reminder of a task stale, purging the queue if most of it has become stale.
+     */
+    private void forget(Task task) {
+        Schedule schedule = this.schedules.remove(task);
+
+        if (schedule == null) {
+            return;
+        }
+
+        this.liveCount -= schedule.pending;
+
+        if (this.queue.size() >= MIN_PURGE_SIZE && this.queue.size() > 2 * this.liveCount) {
+            this.queue.removeIf(reminder -> !this.isLive(reminder));
+        }
+    }
+
+    /**
+     * Counts a live reminder as sent.
+     */
+    private void sent(Reminder reminder) {
+        Schedule schedule = this.schedules.get(reminder.task);
+        schedule.pending--;
+        this.liveCount--;
+
+        if (schedule.pending == 0) {
+            this.schedules.remove(reminder.task);
+        }
+    }
+
+    private boolean isLive(Reminder reminder) {
+        Schedule schedule = this.schedules.get(reminder.task);
+        return schedule != null && schedule.generation == reminder.generation;
+    }
+
+    /**
+     * Makes sure the background thread wakes up for the earliest live reminder.
+     */
+    private void rearm() {
+        while (!this.queue.isEmpty() && !this.isLive(this.queue.peek())) {
+            this.queue.poll();
+        }
+
+        if (this.queue.isEmpty() || this.executor.isShutdown()) {
+            return;
+        }
+
+        long fireAt = this.queue.peek().getFireAt();
+        if (this.armed != null && this.armedAt <= fireAt) {
+            return;
+        }
+
+        if (this.armed != null) {
+            this.armed.cancel(false);
+        }
+
+        this.armedAt = fireAt;
+        this.armed = this.executor.schedule(this::fireDue,
+                Math.max(0, fireAt - this.clock.millis()), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The current generation of a task's reminders, and how many of them are still queued.
+     */
+    private static class Schedule {
+        private final int generation;
+        private int pending;
+
+        Schedule(int generation) {
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * One reminder of a task, valid for as long as the task keeps the same generation.
+     */
+    private static class Reminder {
+        private final Task task;
+        private final String text;
+        private final int generation;
+        private final Duration leadTime;
+        private final long fireAt;
+
+        Reminder(Task task, String text, int generation, Duration leadTime, long fireAt) {
+            this.task = task;
+            this.text = text;
+            this.generation = generation;
+            this.leadTime = leadTime;
+            this.fireAt = fireAt;
+        }
+
+        long getFireAt() {
+            return this.fireAt;
+        }
+
+        String getMessage() {
+            String when = this.leadTime.isZero() ? "now" : "in " + describeLength(this.leadTime);
+            String what = (this.task instanceof Deadline) ? "This deadline is due " : "This event starts ";
+
+            return "⏰ Quack! " + what + when + ":\n" + this.text;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package katsu.response;
+
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Represents a successful response from Katsu whose message is too long to render at once.
+ * The message is a header followed by chunks that are only rendered as they are displayed.
+ */
+public class ChunkedResponse extends KatsuResponse {
+    private final String header;
+    private final Supplier<Stream<String>> body;
+
+    /**
+     * Constructs a ChunkedResponse with user input, a header and a lazily rendered body.
+     *
+     * @param userInput the original input provided by the user
+     * @param header the first chunk of the message
+     * @param body supplies the remaining chunks of the message, rendering each one when it is reached
+     */
+    public ChunkedResponse(String userInput, String header, Supplier<Stream<String>> body) {
+        super(userInput);
+        this.header = header;
+        this.body = body;
+    }
+
+    /**
+     * Returns the whole message, rendering every chunk.
+     * Prefer <code>getChunks</code> for displaying it.
+     *
+     * @return the success message string
+     */
+    @Override
+    public String getMessage() {
+        return this.getChunks().collect(Collectors.joining("\n"));
+    }
+
+    @Override
+    public Stream<String> getChunks() {
+        return Stream.concat(Stream.of(this.header), this.body.get());
+    }
+}
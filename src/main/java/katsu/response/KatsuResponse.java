@@ -1,5 +1,7 @@
 package katsu.response;
 
+import java.util.stream.Stream;
+
 /**
  * Abstract base class for all Katsu response types.
  * Provides a common structure for handling user input and generating responses.
@@ -35,6 +37,16 @@ public abstract class KatsuResponse {
         return "";
     };
 
+    /**
+     * Returns the response message in chunks to be displayed one after another, so that a long message
+     * never has to be held or shown all at once. Responses are a single chunk unless they say otherwise.
+     *
+     * @return the chunks of the response message, in order
+     */
+    public Stream<String> getChunks() {
+        return Stream.of(this.getMessage());
+    }
+
     /**
      * Returns any error message generated during response processing.
      * Subclasses should override this method to provide specific error information.
@@ -0,0 +1,69 @@
+package katsu.storage;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces bursts of save requests into a single background write.
+ * The first request after a write schedules the save action <code>delayMillis</code> later;
+ * every request made before it runs is served by that same write.
+ */
+public class AutoSaver {
+    public static final long DEFAULT_DELAY_MILLIS = 200;
+
+    private final Runnable action;
+    private final long delayMillis;
+    private final ScheduledExecutorService scheduler;
+    private boolean isScheduled;
+
+    /**
+     * Constructs an autosaver that runs the given action on a background thread.
+     *
+     * @param action the write to perform
+     * @param delayMillis how long to wait for more requests before writing
+     */
+    public AutoSaver(Runnable action, long delayMillis) {
+        this.action = action;
+        this.delayMillis = delayMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "katsu-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Asks for a write to happen soon, unless one is already pending.
+     */
+    public synchronized void requestSave() {
+        if (this.isScheduled || this.scheduler.isShutdown()) {
+            return;
+        }
+
+        this.isScheduled = true;
+        this.scheduler.schedule(this::runAction, this.delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs the pending write, if any, and stops the background thread.
+     */
+    public void shutdown() {
+        this.scheduler.shutdown();
+
+        try {
+            // Delayed writes still run after shutdown, so this waits for the last one to land
+            this.scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runAction() {
+        synchronized (this) {
+            this.isScheduled = false;
+        }
+
+        this.action.run();
+    }
+}
@@ -0,0 +1,238 @@
+package katsu.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import katsu.tasks.CustomList;
+import katsu.tasks.Deadline;
+import katsu.tasks.Event;
+import katsu.tasks.Task;
+import katsu.tasks.ToDo;
+
+/**
+ * Encodes and decodes the compact binary save format.
+ * The file starts with the magic bytes <code>KATS</code> and a version byte, followed by the number of tasks.
+ * Each task is one byte holding its type and completion status, its ID, the length-prefixed UTF-8 description,
+ * and its dates as minutes since the epoch. IDs, lengths and dates are stored as variable-length integers.
+ * Files of version 1, written before IDs were saved, can still be read, and give tasks without an ID.
+ */
+public class BinaryFormat {
+    public static final int VERSION = 2;
+
+    private static final int VERSION_WITHOUT_IDS = 1;
+
+    private static final byte[] MAGIC = {'K', 'A', 'T', 'S'};
+    private static final int TODO = 0;
+    private static final int DEADLINE = 1;
+    private static final int EVENT = 2;
+
+    /**
+     * Checks whether a file starts with the binary format's magic bytes.
+     *
+     * @param path the location of the file
+     * @return true if the file is in the binary format, false otherwise
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return Arrays.equals(in.readNBytes(MAGIC.length), MAGIC);
+        }
+    }
+
+    /**
+     * Encodes every task in the list.
+     *
+     * @param tasks the tasks to encode
+     * @return the encoded save file content
+     */
+    public static byte[] encode(CustomList tasks) {
+        int size = tasks.size();
+        Encoder encoder = new Encoder(64 + size * 32);
+
+        encoder.writeBytes(MAGIC);
+        encoder.writeByte(VERSION);
+        encoder.writeVarLong(size);
+
+        for (int i = 0; i < size; i++) {
+            Task task = tasks.get(i);
+            int status = task.isComplete() ? 1 : 0;
+
+            if (task instanceof Deadline) {
+                encoder.writeByte(DEADLINE << 1 | status);
+                encoder.writeVarLong(task.getId());
+                encoder.writeString(task.toString());
+                encoder.writeSignedVarLong(((Deadline) task).getComparableMinutes());
+            } else if (task instanceof Event) {
+                Event event = (Event) task;
+                encoder.writeByte(EVENT << 1 | status);
+                encoder.writeVarLong(task.getId());
+                encoder.writeString(task.toString());
+                encoder.writeSignedVarLong(event.getComparableMinutes());
+                encoder.writeSignedVarLong(event.getEndMinutes());
+            } else {
+                encoder.writeByte(TODO << 1 | status);
+                encoder.writeVarLong(task.getId());
+                encoder.writeString(task.toString());
+            }
+        }
+
+        return encoder.toByteArray();
+    }
+
+    /**
+     * Decodes the content of a binary save file.
+     *
+     * @param bytes the content of the save file
+     * @return the decoded tasks, in the order they were saved
+     * @throws IOException if the content is not in a supported version of the binary format
+     * @throws ArrayIndexOutOfBoundsException if the content is truncated
+     */
+    public static List<Task> decode(byte[] bytes) throws IOException {
+        if (bytes.length <= MAGIC.length || !Arrays.equals(bytes, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+            throw new IOException("Not a binary save file");
+        }
+
+        int version = bytes[MAGIC.length];
+        if (version != VERSION && version != VERSION_WITHOUT_IDS) {
+            throw new IOException("Unsupported save file version: " + version);
+        }
+
+        Decoder decoder = new Decoder(bytes, MAGIC.length + 1);
+        int size = Math.toIntExact(decoder.readVarLong());
+        List<Task> tasks = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            int header = decoder.readByte();
+            int id = (version == VERSION_WITHOUT_IDS) ? 0 : Math.toIntExact(decoder.readVarLong());
+            String description = decoder.readString();
+            Task task;
+
+            switch (header >>> 1) {
+            case TODO:
+                task = new ToDo(description);
+                break;
+            case DEADLINE:
+                task = new Deadline(description, decoder.readSignedVarLong());
+                break;
+            case EVENT:
+                task = new Event(description, decoder.readSignedVarLong(), decoder.readSignedVarLong());
+                break;
+            default:
+                throw new IOException("Unknown task type in save file: " + (header >>> 1));
+            }
+
+            if ((header & 1) == 1) {
+                task.markCompleted();
+            }
+
+            task.setId(id);
+            tasks.add(task);
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Appends primitive values to a growing byte array.
+     */
+    private static class Encoder {
+        private byte[] buffer;
+        private int count;
+
+        Encoder(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            this.ensureCapacity(1);
+            this.buffer[this.count++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            this.ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, this.buffer, this.count, bytes.length);
+            this.count += bytes.length;
+        }
+
+        void writeVarLong(long value) {
+            this.ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                this.buffer[this.count++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            this.buffer[this.count++] = (byte) value;
+        }
+
+        void writeSignedVarLong(long value) {
+            this.writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.writeVarLong(bytes.length);
+            this.writeBytes(bytes);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(this.buffer, this.count);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (this.count + extra > this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.count + extra));
+            }
+        }
+    }
+
+    /**
+     * Reads primitive values from a byte array, front to back.
+     */
+    private static class Decoder {
+        private final byte[] bytes;
+        private int position;
+
+        Decoder(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int readByte() {
+            return this.bytes[this.position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            int b;
+
+            do {
+                b = this.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+
+            return value;
+        }
+
+        long readSignedVarLong() {
+            long value = this.readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            int length = Math.toIntExact(this.readVarLong());
+            if (this.position + length > this.bytes.length) {
+                throw new ArrayIndexOutOfBoundsException("Truncated description in save file");
+            }
+            String value = new String(this.bytes, this.position, length, StandardCharsets.UTF_8);
+            this.position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package katsu.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import katsu.tasks.Deadline;
+import katsu.tasks.Event;
+import katsu.tasks.Task;
+import katsu.tasks.ToDo;
+import katsu.ui.Ui;
+import katsu.util.DateTimeCodec;
+
+/**
+ * Loads the text save file by reading it into memory and parsing newline-aligned chunks in parallel.
+ * The file is read into a heap buffer rather than memory-mapped, since a mapping keeps the file open
+ * until it is garbage collected, which stops the save file from being replaced on Windows.
+ * Each chunk is tokenized by hand on <code>|</code>, so no regular expression or intermediate
+ * <code>String</code> is created for the separators. Tasks are returned in the same order as in the file.
+ */
+public class ChunkedLoader {
+    private static final int MIN_CHUNK_BYTES = 256 * 1024;
+    private static final int MAX_FIELDS = 6;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a loader that parses on the common fork-join pool.
+     */
+    public ChunkedLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a loader that parses on the given fork-join pool.
+     *
+     * @param pool the pool to run the chunk parsers on
+     */
+    public ChunkedLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Reads every task stored in the given save file.
+     *
+     * @param path the location of the save file
+     * @return the tasks in file order, with their completion status already set
+     * @throws IOException if the file cannot be read, is too large to be loaded, or has a line whose
+     *     ID or date cannot be parsed
+     */
+    public List<Task> load(Path path) throws IOException {
+        ByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IOException("Save file is too large to be loaded: " + size + " bytes");
+            }
+
+            buffer = ByteBuffer.allocate((int) size);
+            // A single read may return fewer bytes than asked for
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) {
+                    break;
+                }
+            }
+            buffer.flip();
+        }
+
+        try {
+            return this.parse(buffer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private List<Task> parse(ByteBuffer buffer) {
+        List<ChunkParser> parsers = split(buffer, this.pool.getParallelism());
+
+        if (parsers.size() <= 1) {
+            return parsers.isEmpty() ? new ArrayList<>() : parsers.get(0).compute();
+        }
+
+        this.pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                ForkJoinTask.invokeAll(parsers);
+                return null;
+            }
+        });
+
+        List<Task> tasks = new ArrayList<>();
+        for (ChunkParser parser : parsers) {
+            tasks.addAll(parser.join());
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Cuts the buffer into chunks that each start right after a newline.
+     */
+    private static List<ChunkParser> split(ByteBuffer buffer, int parallelism) {
+        int size = buffer.limit();
+        int chunkCount = Math.max(1, Math.min(parallelism * 4, size / MIN_CHUNK_BYTES));
+        int chunkSize = size / chunkCount;
+        List<ChunkParser> parsers = new ArrayList<>(chunkCount);
+        int start = 0;
+
+        for (int i = 1; i <= chunkCount && start < size; i++) {
+            int end = (i == chunkCount) ? size : Math.max(start, i * chunkSize);
+
+            while (end < size && buffer.get(end - 1) != '\n') {
+                end++;
+            }
+
+            if (end > start) {
+                parsers.add(new ChunkParser(buffer, start, end));
+                start = end;
+            }
+        }
+
+        return parsers;
+    }
+
+    /**
+     * Parses every line of one chunk of the save file.
+     */
+    private static class ChunkParser extends RecursiveTask<List<Task>> {
+        private static final long serialVersionUID = 1L;
+
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int end;
+
+        ChunkParser(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            List<Task> tasks = new ArrayList<>();
+            int[] fieldStarts = new int[MAX_FIELDS];
+            int[] fieldEnds = new int[MAX_FIELDS];
+            int lineStart = this.start;
+
+            while (lineStart < this.end) {
+                int lineEnd = lineStart;
+                while (lineEnd < this.end && this.buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+
+                int contentEnd = lineEnd;
+                if (contentEnd > lineStart && this.buffer.get(contentEnd - 1) == '\r') {
+                    contentEnd--;
+                }
+
+                if (contentEnd > lineStart) {
+                    int fieldCount = this.tokenize(lineStart, contentEnd, fieldStarts, fieldEnds);
+                    Task task;
+                    try {
+                        task = this.parse(fieldStarts, fieldEnds, fieldCount);
+                    } catch (NumberFormatException | DateTimeParseException e) {
+                        // Fork-join tasks cannot throw checked exceptions, so load unwraps this again
+                        throw new UncheckedIOException(new IOException("Malformed task in save file: "
+                                + this.text(lineStart, contentEnd), e));
+                    }
+                    if (task != null) {
+                        tasks.add(task);
+                    }
+                }
+
+                lineStart = lineEnd + 1;
+            }
+
+            return tasks;
+        }
+
+        /**
+         * Splits a line on <code>|</code>, dropping the whitespace around each separator
+         * the same way the <code>\s*\|\s*</code> pattern does.
+         *
+         * @return the number of fields found, at most <code>MAX_FIELDS</code>
+         */
+        private int tokenize(int from, int to, int[] fieldStarts, int[] fieldEnds) {
+            int count = 0;
+            int fieldStart = from;
+
+            for (int i = from; i < to && count < MAX_FIELDS - 1; i++) {
+                if (this.buffer.get(i) != '|') {
+                    continue;
+                }
+
+                int fieldEnd = i;
+                while (fieldEnd > fieldStart && isWhitespace(this.buffer.get(fieldEnd - 1))) {
+                    fieldEnd--;
+                }
+
+                fieldStarts[count] = fieldStart;
+                fieldEnds[count] = fieldEnd;
+                count++;
+
+                fieldStart = i + 1;
+                while (fieldStart < to && isWhitespace(this.buffer.get(fieldStart))) {
+                    fieldStart++;
+                }
+                i = fieldStart - 1;
+            }
+
+            fieldStarts[count] = fieldStart;
+            fieldEnds[count] = to;
+            return count + 1;
+        }
+
+        /**
+         * Builds the task of one line. Lines written before IDs were saved start with the task type
+         * instead of an ID, and give a task without one.
+         */
+        private Task parse(int[] fieldStarts, int[] fieldEnds, int fieldCount) {
+            boolean hasId = fieldEnds[0] > fieldStarts[0] && isDigit(this.buffer.get(fieldStarts[0]));
+            int first = hasId ? 1 : 0;
+
+            if (fieldCount < first + 3) {
+                throw new ArrayIndexOutOfBoundsException("Missing task fields: " + this.text(fieldStarts[0],
+                        fieldEnds[fieldCount - 1]));
+            }
+
+            String type = this.text(fieldStarts[first], fieldEnds[first]);
+            String description = this.text(fieldStarts[first + 2], fieldEnds[first + 2]);
+            int date = first + 3;
+            Task task;
+
+            switch (type) {
+            case "T":
+                task = new ToDo(description);
+                break;
+            case "D":
+                this.requireFields(fieldCount, date + 1);
+                task = new Deadline(description,
+                        DateTimeCodec.parseMinutes(this.buffer, fieldStarts[date], fieldEnds[date]));
+                break;
+            case "E":
+                this.requireFields(fieldCount, date + 2);
+                task = new Event(description,
+                        DateTimeCodec.parseMinutes(this.buffer, fieldStarts[date], fieldEnds[date]),
+                        DateTimeCodec.parseMinutes(this.buffer, fieldStarts[date + 1], fieldEnds[date + 1]));
+                break;
+            default:
+                System.out.println(Ui.INDENT + "⚠ Unknown task type in save file: " + type);
+                return null;
+            }
+
+            int status = first + 1;
+            if (fieldEnds[status] - fieldStarts[status] == 1 && this.buffer.get(fieldStarts[status]) == '1') {
+                task.markCompleted();
+            }
+
+            if (hasId) {
+                task.setId(this.parseId(fieldStarts[0], fieldEnds[0]));
+            }
+
+            return task;
+        }
+
+        private int parseId(int from, int to) {
+            int id = 0;
+
+            for (int i = from; i < to; i++) {
+                byte b = this.buffer.get(i);
+                if (!isDigit(b) || id > (Integer.MAX_VALUE - 9) / 10) {
+                    throw new NumberFormatException("Invalid task ID: " + this.text(from, to));
+                }
+                id = id * 10 + (b - '0');
+            }
+
+            return id;
+        }
+
+        private void requireFields(int fieldCount, int required) {
+            if (fieldCount < required) {
+                throw new ArrayIndexOutOfBoundsException("Expected " + required + " fields but found " + fieldCount);
+            }
+        }
+
+        private String text(int from, int to) {
+            return new String(this.buffer.array(), from, to - from, StandardCharsets.UTF_8);
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package katsu.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import katsu.tasks.CustomList;
+import katsu.tasks.ListObserver;
+import katsu.tasks.Task;
+import katsu.ui.Ui;
+
+/**
+ * Folds the journal back into the save file on a background thread once it grows too large.
+ * The journal is first rotated aside so that new changes keep being journaled while the old records
+ * are replayed onto the last snapshot and written out as the new save file.
+ */
+public class Compactor implements ListObserver {
+    public static final long DEFAULT_MIN_BYTES = 64 * 1024;
+    public static final long DEFAULT_MAX_BYTES = 8 * 1024 * 1024;
+    public static final double DEFAULT_RATIO = 1.0;
+
+    private final Storage storage;
+    private final long minBytes;
+    private final long maxBytes;
+    private final double ratio;
+    private final ExecutorService executor;
+
+    private Future<?> running;
+    private boolean isBatching;
+    private volatile long snapshotBytes;
+    private volatile int compactionCount;
+    private volatile long lastMillis;
+    private volatile long lastBytesReclaimed;
+    private volatile boolean hasFailed;
+
+    /**
+     * Constructs a compactor for the given storage with the default thresholds.
+     *
+     * @param storage the storage whose journal should be compacted
+     */
+    public Compactor(Storage storage) {
+        this(storage, DEFAULT_MIN_BYTES, DEFAULT_MAX_BYTES, DEFAULT_RATIO);
+    }
+
+    /**
+     * Constructs a compactor for the given storage.
+     * A compaction starts once the journal reaches <code>maxBytes</code>, or once it reaches
+     * <code>minBytes</code> and is at least <code>ratio</code> times the size of the save file.
+     *
+     * @param storage the storage whose journal should be compacted
+     * @param minBytes the journal size below which the journal is never compacted
+     * @param maxBytes the journal size at which the journal is always compacted
+     * @param ratio the journal to save file size ratio at which the journal is compacted
+     */
+    public Compactor(Storage storage, long minBytes, long maxBytes, double ratio) {
+        this.storage = storage;
+        this.minBytes = minBytes;
+        this.maxBytes = maxBytes;
+        this.ratio = ratio;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "katsu-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.snapshotBytes = sizeOf(storage.getSavePath());
+    }
+
+    @Override
+    public void onAdd(Task task) {
+        this.checkThresholds();
+    }
+
+    @Override
+    public void onInsert(int index, Task task) {
+        this.checkThresholds();
+    }
+
+    @Override
+    public void onMark(int index, boolean isComplete) {
+        this.checkThresholds();
+    }
+
+    @Override
+    public void onDelete(int index, Task task) {
+        this.checkThresholds();
+    }
+
+    @Override
+    public synchronized void onBatchStart() {
+        this.isBatching = true;
+    }
+
+    @Override
+    public void onBatchEnd() {
+        synchronized (this) {
+            this.isBatching = false;
+        }
+
+        this.checkThresholds();
+    }
+
+    /**
+     * Rotates the journal aside, if it is not already, and folds it into the save file in the background.
+     * Does nothing while another compaction is still running.
+     */
+    public synchronized void compact() {
+        if (this.running != null && !this.running.isDone()) {
+            return;
+        }
+
+        Path frozen = this.storage.getFrozenJournalPath();
+
+        try {
+            if (!Files.exists(frozen)) {
+                this.storage.getJournal().rotate(frozen);
+            }
+        } catch (IOException e) {
+            System.out.println(Ui.INDENT + "⚠ Could not rotate the journal: " + e.getMessage());
+            return;
+        }
+
+        this.running = this.executor.submit(() -> this.fold(frozen));
+    }
+
+    /**
+     * Blocks until the running compaction, if any, has finished.
+     */
+    public void awaitIdle() {
+        Future<?> current;
+        synchronized (this) {
+            current = this.running;
+        }
+
+        if (current == null) {
+            return;
+        }
+
+        try {
+            current.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Already reported by the compaction itself
+        }
+    }
+
+    /**
+     * Waits for the running compaction, if any, and stops the background thread.
+     */
+    public void shutdown() {
+        this.awaitIdle();
+        this.executor.shutdown();
+
+        try {
+            this.executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getCompactionCount() {
+        return this.compactionCount;
+    }
+
+    public long getLastMillis() {
+        return this.lastMillis;
+    }
+
+    public long getLastBytesReclaimed() {
+        return this.lastBytesReclaimed;
+    }
+
+    private void checkThresholds() {
+        synchronized (this) {
+            // Rotating the journal in the middle of a batch would split its records over two writes
+            if (this.isBatching) {
+                return;
+            }
+        }
+
+        // A journal that could not be folded is kept for the next start, rather than retried on every change
+        if (this.hasFailed) {
+            return;
+        }
+
+        long journalBytes = this.storage.getJournal().size();
+
+        if (journalBytes >= this.maxBytes
+                || (journalBytes >= this.minBytes && journalBytes >= this.ratio * this.snapshotBytes)) {
+            this.compact();
+        }
+    }
+
+    private void fold(Path frozen) {
+        long start = System.nanoTime();
+        Path save = this.storage.getSavePath();
+
+        try {
+            long before = sizeOf(save) + sizeOf(frozen);
+            CustomList tasks = this.storage.readSnapshot();
+            Journal.replayStrictly(frozen, tasks);
+            this.storage.commitSnapshot(tasks, frozen);
+            long after = sizeOf(save);
+
+            this.snapshotBytes = after;
+            this.lastMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            this.lastBytesReclaimed = before - after;
+            this.compactionCount++;
+            System.out.println(Ui.INDENT + "Compacted journal in " + this.lastMillis + " ms, reclaimed "
+                    + this.lastBytesReclaimed + " bytes.");
+        } catch (IOException | RuntimeException e) {
+            this.hasFailed = true;
+            System.out.println(Ui.INDENT + "⚠ Could not compact the journal: " + e.getMessage());
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.exists(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
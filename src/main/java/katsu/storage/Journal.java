@@ -0,0 +1,367 @@
+package katsu.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import katsu.tasks.CustomList;
+import katsu.tasks.ListObserver;
+import katsu.tasks.Task;
+import katsu.ui.Ui;
+
+/**
+ * Append-only log of the changes made to the task list since the last snapshot.
+ * Every change is written as one line. Without an autosaver the line is forced to disk straight away,
+ * so a crash loses at most the command that was being executed. With an autosaver, lines are buffered
+ * and written in one batch by the autosaver's background thread, keeping disk I/O out of the command.
+ */
+public class Journal implements ListObserver {
+    private static final String SEPARATOR = " | ";
+
+    private final Path path;
+    private final Object writeLock = new Object();
+    private AutoSaver autoSaver;
+    private FileChannel channel;
+    private StringBuilder pending;
+    private long size;
+    private boolean isBatching;
+
+    /**
+     * Constructs a journal backed by the given file that writes every change straight away.
+     *
+     * @param path the location of the journal file
+     */
+    public Journal(Path path) {
+        this.path = path;
+        this.pending = new StringBuilder();
+    }
+
+    /**
+     * Constructs a journal backed by the given file that batches changes made within the given delay.
+     *
+     * @param path the location of the journal file
+     * @param delayMillis how long to wait for more changes before writing them
+     */
+    public Journal(Path path, long delayMillis) {
+        this(path);
+        this.autoSaver = new AutoSaver(this::flushQuietly, delayMillis);
+    }
+
+    /**
+     * Opens the journal file for appending, creating it if it does not exist yet.
+     * A torn record left at the end of the file by an interrupted write is cut off first,
+     * so that the next record does not run on from it.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    public void open() throws IOException {
+        Files.createDirectories(this.path.toAbsolutePath().getParent());
+
+        synchronized (this.writeLock) {
+            this.channel = FileChannel.open(this.path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long complete = completeLength(this.channel);
+            if (complete < this.channel.size()) {
+                System.out.println(Ui.INDENT + "⚠ Discarding an incomplete journal entry.");
+                this.channel.truncate(complete);
+                this.channel.force(true);
+            }
+            this.channel.position(complete);
+
+            synchronized (this) {
+                this.size = this.channel.size() + this.pending.length();
+            }
+        }
+    }
+
+    /**
+     * Writes every buffered record to the journal file and forces it to disk.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    public void flush() throws IOException {
+        synchronized (this.writeLock) {
+            String batch;
+            synchronized (this) {
+                if (this.pending.length() == 0) {
+                    return;
+                }
+                batch = this.pending.toString();
+                this.pending = new StringBuilder();
+            }
+
+            try {
+                ByteBuffer bytes = ByteBuffer.wrap(batch.getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    this.channel.write(bytes);
+                }
+                this.channel.force(false);
+            } catch (IOException e) {
+                synchronized (this) {
+                    this.pending.insert(0, batch);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Moves every record written so far into another file and starts a fresh, empty journal.
+     *
+     * @param frozen the file that receives the current records
+     * @throws IOException if the journal cannot be moved or reopened
+     */
+    public void rotate(Path frozen) throws IOException {
+        synchronized (this.writeLock) {
+            this.flush();
+            this.channel.close();
+            Files.move(this.path, frozen, StandardCopyOption.ATOMIC_MOVE);
+            this.open();
+        }
+    }
+
+    /**
+     * Discards every record in the journal, including the ones not written yet.
+     * Called once the changes have been folded into a new snapshot.
+     *
+     * @throws IOException if the file cannot be truncated
+     */
+    public void reset() throws IOException {
+        synchronized (this.writeLock) {
+            synchronized (this) {
+                this.pending = new StringBuilder();
+                this.size = 0;
+            }
+            this.channel.truncate(0);
+            this.channel.position(0);
+            this.channel.force(true);
+        }
+    }
+
+    /**
+     * Writes the buffered records and closes the journal file.
+     *
+     * @throws IOException if the records cannot be written or the file cannot be closed
+     */
+    public void close() throws IOException {
+        if (this.autoSaver != null) {
+            this.autoSaver.shutdown();
+        }
+
+        synchronized (this.writeLock) {
+            this.flush();
+            this.channel.close();
+        }
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Returns the size of the journal, counting records that are still buffered.
+     * Buffered records are counted in characters, which is exact for ASCII descriptions.
+     *
+     * @return the approximate size of the journal in bytes
+     */
+    public synchronized long size() {
+        return this.size;
+    }
+
+    @Override
+    public void onAdd(Task task) {
+        this.append("ADD" + SEPARATOR + Storage.formatRecord(task));
+    }
+
+    @Override
+    public void onInsert(int index, Task task) {
+        this.append("INSERT" + SEPARATOR + index + SEPARATOR + Storage.formatRecord(task));
+    }
+
+    @Override
+    public void onMark(int index, boolean isComplete) {
+        this.append((isComplete ? "MARK" : "UNMARK") + SEPARATOR + index);
+    }
+
+    @Override
+    public void onDelete(int index, Task task) {
+        this.append("DELETE" + SEPARATOR + index);
+    }
+
+    /**
+     * Holds back the records of a batch command, so that they are all written together.
+     */
+    @Override
+    public synchronized void onBatchStart() {
+        this.isBatching = true;
+    }
+
+    @Override
+    public void onBatchEnd() {
+        synchronized (this) {
+            this.isBatching = false;
+        }
+
+        this.requestWrite();
+    }
+
+    /**
+     * Re-applies every record of a journal file onto the given task list.
+     * Only records ending in a newline were written completely, so a last record without one is the torn
+     * tail of an interrupted write and is ignored. A complete record that cannot be understood stops
+     * the replay there, since the records after it may depend on it.
+     *
+     * @param path the location of the journal file
+     * @param tasks the task list to apply the records to
+     * @return the number of records applied
+     * @throws IOException if the file cannot be read
+     */
+    public static int replay(Path path, CustomList tasks) throws IOException {
+        return replay(path, tasks, false);
+    }
+
+    /**
+     * Re-applies every record of a journal file onto the given task list, like <code>replay</code>,
+     * but fails instead of stopping at a complete record that cannot be understood.
+     * Used when the journal is about to be deleted, so that no record after a bad one is lost.
+     *
+     * @param path the location of the journal file
+     * @param tasks the task list to apply the records to
+     * @return the number of records applied
+     * @throws IOException if the file cannot be read or has a record that cannot be understood
+     */
+    static int replayStrictly(Path path, CustomList tasks) throws IOException {
+        return replay(path, tasks, true);
+    }
+
+    private static int replay(Path path, CustomList tasks, boolean isStrict) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        // Decoded leniently, as a torn tail may end in the middle of a character
+        String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        int applied = 0;
+        int start = 0;
+
+        for (int end = content.indexOf('\n'); end != -1; end = content.indexOf('\n', start)) {
+            String record = content.substring(start, end);
+            start = end + 1;
+
+            try {
+                apply(record, tasks);
+            } catch (RuntimeException e) {
+                if (isStrict) {
+                    throw new IOException("Cannot understand journal entry: " + record, e);
+                }
+                System.out.println(Ui.INDENT + "⚠ Ignoring journal entries from: " + record);
+                return applied;
+            }
+            applied++;
+        }
+
+        if (start < content.length()) {
+            System.out.println(Ui.INDENT + "⚠ Ignoring incomplete journal entry: " + content.substring(start));
+        }
+
+        return applied;
+    }
+
+    /**
+     * Returns the length of the file up to and including its last newline, which ends its last
+     * complete record.
+     */
+    private static long completeLength(FileChannel channel) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(4096);
+        long end = channel.size();
+
+        while (end > 0) {
+            long start = Math.max(0, end - block.capacity());
+            block.clear().limit((int) (end - start));
+            while (block.hasRemaining()) {
+                if (channel.read(block, start + block.position()) == -1) {
+                    break;
+                }
+            }
+
+            for (int i = block.position() - 1; i >= 0; i--) {
+                if (block.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+
+        return 0;
+    }
+
+    private static void apply(String record, CustomList tasks) {
+        int split = record.indexOf(SEPARATOR);
+        String operation = record.substring(0, split);
+        String argument = record.substring(split + SEPARATOR.length());
+
+        switch (operation) {
+        case "ADD":
+            Task task = Storage.parseTask(argument);
+            if (task == null) {
+                throw new IllegalArgumentException("Unknown task: " + argument);
+            }
+            tasks.add(task, true);
+            break;
+        case "INSERT":
+            int position = argument.indexOf(SEPARATOR);
+            Task inserted = Storage.parseTask(argument.substring(position + SEPARATOR.length()));
+            if (inserted == null) {
+                throw new IllegalArgumentException("Unknown task: " + argument);
+            }
+            tasks.insertAll(new int[] {Integer.parseInt(argument.substring(0, position))}, List.of(inserted));
+            break;
+        case "MARK":
+            tasks.markCompleted(String.valueOf(Integer.parseInt(argument) + 1), "");
+            break;
+        case "UNMARK":
+            tasks.markUncompleted(String.valueOf(Integer.parseInt(argument) + 1), "");
+            break;
+        case "DELETE":
+            tasks.deleteTask(String.valueOf(Integer.parseInt(argument) + 1));
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown journal operation: " + operation);
+        }
+    }
+
+    private void append(String record) {
+        synchronized (this) {
+            this.pending.append(record).append('\n');
+            this.size += record.length() + 1;
+
+            if (this.isBatching) {
+                return;
+            }
+        }
+
+        this.requestWrite();
+    }
+
+    private void requestWrite() {
+        if (this.autoSaver != null) {
+            this.autoSaver.requestSave();
+        } else {
+            this.flushQuietly();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (IOException e) {
+            System.out.println(Ui.INDENT + "⚠ Could not write to the journal: " + e.getMessage());
+        }
+    }
+}
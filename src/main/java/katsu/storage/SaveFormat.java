@@ -0,0 +1,11 @@
+package katsu.storage;
+
+/**
+ * Represents the formats the save file can be written in.
+ */
+public enum SaveFormat {
+    /** One human-readable line per task, its ID followed by the format of <code>Task.formatSave()</code>. */
+    TEXT,
+    /** The compact versioned encoding of <code>BinaryFormat</code>. */
+    BINARY
+}
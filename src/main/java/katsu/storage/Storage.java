@@ -2,81 +2,137 @@ package katsu.storage;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.util.Scanner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 
 import katsu.tasks.CustomList;
 import katsu.tasks.Deadline;
 import katsu.tasks.Event;
+import katsu.tasks.Task;
 import katsu.tasks.ToDo;
 import katsu.ui.Ui;
-import katsu.util.DateUtils;
+import katsu.util.DateTimeCodec;
 
 /**
  * Handles loading and saving of task data to persistent storage.
  * Manages file operations for reading from and writing to the save file.
+ * Changes made between two saves are kept in a <code>Journal</code> next to the save file,
+ * and are replayed on top of the save file when it is loaded.
  */
 public class Storage {
     private String path;
+    private volatile SaveFormat format;
+    private Journal journal;
+    private Compactor compactor;
 
     /**
      * Constructs a Storage object with the default save file path.
      */
     public Storage() {
-        this.path = "data/katsuSave.txt";
+        this("data/katsuSave.txt");
+    }
+
+    /**
+     * Constructs a Storage object that saves to the given file.
+     *
+     * @param path the location of the save file
+     */
+    public Storage(String path) {
+        this.path = path;
+        this.format = SaveFormat.TEXT;
     }
 
     /**
      * Loads task data from the save file and reconstructs the task list.
+     * Any changes recorded in the journal after the last save are applied on top.
+     * Reports how many repeated descriptions were shared between tasks while loading.
+     * Later saves keep the format, text or binary, that the save file was found in.
      *
      * @return a CustomList containing all loaded tasks
-     * @throws FileNotFoundException if the save file does not exist
+     * @throws FileNotFoundException if neither the save file nor the journal exists
+     * @throws IOException if the save file or the journal cannot be read
      */
-    public CustomList loadSave() throws FileNotFoundException {
+    public CustomList loadSave() throws IOException {
         System.out.println(Ui.INDENT + "Loading save file...");
 
+        this.recover();
+
         File save = new File(this.path);
-        Scanner scanner = new Scanner(save);
-        CustomList tasks = new CustomList();
-        int index = 0;
-
-        while (scanner.hasNext()) {
-            String currLine = scanner.nextLine();
-            String[] taskDetails = currLine.split("\\s*\\|\\s*");
-
-            switch (taskDetails[0]) {
-            case "T":
-                tasks.add(new ToDo(taskDetails[2]), true);
-                break;
-            case "D":
-                LocalDateTime dueDate = DateUtils.convertStringToDateTime(taskDetails[3]);
-                tasks.add(new Deadline(taskDetails[2], dueDate), true);
-                break;
-            case "E":
-                LocalDateTime startDate = DateUtils.convertStringToDateTime(taskDetails[3]);
-                LocalDateTime endDate = DateUtils.convertStringToDateTime(taskDetails[4]);
-                tasks.add(new Event(taskDetails[2], startDate, endDate), true);
-                break;
-            default:
-                System.out.println(Ui.INDENT + "⚠ Unknown task type in save file: " + taskDetails[0]);
-                break;
-            }
+        Path frozenPath = this.getFrozenJournalPath();
+        Path journalPath = this.getJournalPath();
 
-            if (taskDetails[1].equals("1")) {
-                tasks.markCompleted(String.valueOf(index + 1), "");
-            }
+        if (!save.exists() && !Files.exists(frozenPath) && !Files.exists(journalPath)) {
+            throw new FileNotFoundException(this.path);
+        }
+
+        Path savePath = this.getSavePath();
+        if (Files.exists(savePath)) {
+            this.format = BinaryFormat.isBinary(savePath) ? SaveFormat.BINARY : SaveFormat.TEXT;
+        }
+
+        CustomList tasks = this.readSnapshot();
+        int replayed = Journal.replay(frozenPath, tasks) + Journal.replay(journalPath, tasks);
 
-            index++;
+        if (replayed > 0) {
+            System.out.println(Ui.INDENT + "Recovered " + replayed + " unsaved change(s).");
+        }
+
+        // The list was made by this load, so its counts cover this load only
+        long shared = tasks.getSharedDescriptions();
+        if (shared > 0) {
+            System.out.println(Ui.INDENT + "Shared " + shared + " repeated description(s), saving about "
+                    + tasks.getDescriptionBytesSaved() + " bytes.");
         }
 
         System.out.println(Ui.INDENT + "Save file loaded.");
         return tasks;
     }
 
+    /**
+     * Starts recording every change made to the given task list in the journal,
+     * compacting it in the background with the default thresholds.
+     * Changes are written to disk in batches by a background thread, shortly after they are made.
+     *
+     * @param tasks the task list to keep track of
+     * @throws IOException if the journal cannot be opened
+     */
+    public void startJournal(CustomList tasks) throws IOException {
+        this.startJournal(tasks, new Compactor(this));
+    }
+
+    /**
+     * Starts recording every change made to the given task list in the journal,
+     * using the given compactor to fold the journal back into the save file.
+     *
+     * @param tasks the task list to keep track of
+     * @param compactor the compactor watching the journal size
+     * @throws IOException if the journal cannot be opened
+     */
+    public void startJournal(CustomList tasks, Compactor compactor) throws IOException {
+        this.journal = new Journal(this.getJournalPath(), AutoSaver.DEFAULT_DELAY_MILLIS);
+        this.journal.open();
+        this.compactor = compactor;
+        tasks.addObserver(this.journal);
+        tasks.addObserver(this.compactor);
+
+        if (Files.exists(this.getFrozenJournalPath())) {
+            // A previous compaction did not finish, so fold its journal now
+            this.compactor.compact();
+        }
+    }
+
     /**
      * Saves the current task list to the save file for persistent storage.
+     * The new snapshot replaces the old one and the journal, which it now contains, is cleared.
      *
      * @param data the CustomList containing tasks to be saved
      * @throws java.io.IOException if an I/O error occurs during file writing
@@ -84,19 +140,263 @@ public class Storage {
     public void save(CustomList data) throws IOException {
         System.out.println(Ui.INDENT + "Saving tasks...");
 
-        File save = new File("data/katsuSave.txt");
-        save.getParentFile().mkdirs();
-        FileWriter fw = new FileWriter(save);
+        if (this.compactor != null) {
+            this.compactor.awaitIdle();
+        }
+
+        this.commitSnapshot(data, this.getFrozenJournalPath(), this.getJournalPath());
+        System.out.println(Ui.INDENT + "Saved successfully.");
+    }
+
+    /**
+     * Rewrites the save file in the given format and keeps using that format for later saves.
+     *
+     * @param format the format to convert to
+     * @param data the CustomList containing tasks to be saved
+     * @throws IOException if an I/O error occurs during file writing
+     */
+    public void convert(SaveFormat format, CustomList data) throws IOException {
+        // A compaction still running would write the save file in the old format after the switch
+        if (this.compactor != null) {
+            this.compactor.awaitIdle();
+        }
+
+        this.format = format;
+        this.save(data);
+    }
+
+    public SaveFormat getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Writes any journaled changes that are still waiting for the background thread.
+     *
+     * @throws IOException if the changes cannot be written
+     */
+    public void flush() throws IOException {
+        if (this.journal != null) {
+            this.journal.flush();
+        }
+    }
+
+    /**
+     * Stops the background compaction and closes the journal, if one has been started.
+     *
+     * @throws IOException if the journal cannot be closed
+     */
+    public void close() throws IOException {
+        if (this.compactor != null) {
+            this.compactor.shutdown();
+        }
+
+        if (this.journal != null) {
+            this.journal.close();
+        }
+    }
+
+    /**
+     * Formats a task as one line of the save file: its ID followed by the format of
+     * <code>Task.formatSave()</code>.
+     *
+     * @param task the task to format
+     * @return the line, without a newline
+     */
+    static String formatRecord(Task task) {
+        return task.getId() + " | " + task.formatSave();
+    }
+
+    /**
+     * Parses a single line of the save file into a task, including its completion status and ID.
+     * Lines written before IDs were saved start with the task type instead, and give a task without an ID.
+     *
+     * @param line a line in the format produced by <code>formatRecord</code> or <code>Task.formatSave()</code>
+     * @return the parsed task, or null if the task type is unknown
+     */
+    static Task parseTask(String line) {
+        String[] taskDetails = line.split("\\s*\\|\\s*");
+        boolean hasId = !taskDetails[0].isEmpty() && Character.isDigit(taskDetails[0].charAt(0));
+        int first = hasId ? 1 : 0;
+        Task task;
+
+        switch (taskDetails[first]) {
+        case "T":
+            task = new ToDo(taskDetails[first + 2]);
+            break;
+        case "D":
+            long dueDate = DateTimeCodec.parseMinutes(taskDetails[first + 3]);
+            task = new Deadline(taskDetails[first + 2], dueDate);
+            break;
+        case "E":
+            long startDate = DateTimeCodec.parseMinutes(taskDetails[first + 3]);
+            long endDate = DateTimeCodec.parseMinutes(taskDetails[first + 4]);
+            task = new Event(taskDetails[first + 2], startDate, endDate);
+            break;
+        default:
+            return null;
+        }
+
+        if (taskDetails[first + 1].equals("1")) {
+            task.markCompleted();
+        }
+
+        if (hasId) {
+            task.setId(Integer.parseInt(taskDetails[0]));
+        }
+
+        return task;
+    }
+
+    /**
+     * Reads the tasks stored in the save file, without applying any journal.
+     * The format of the save file is detected from its first bytes, but the format later saves are written
+     * in is left alone, since the compactor also reads snapshots on its background thread.
+     *
+     * @return the tasks in the save file, or an empty list if there is no save file
+     * @throws IOException if the save file cannot be read
+     */
+    CustomList readSnapshot() throws IOException {
+        Path save = this.getSavePath();
+        CustomList tasks = new CustomList();
+
+        if (!Files.exists(save)) {
+            return tasks;
+        }
+
+        if (BinaryFormat.isBinary(save)) {
+            tasks.addAll(BinaryFormat.decode(Files.readAllBytes(save)));
+        } else {
+            tasks.addAll(new ChunkedLoader().load(save));
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Replaces the save file with a snapshot of the given tasks and discards the journals it now contains.
+     * The snapshot is written to a temporary file and forced to disk first, so the live save file is never
+     * left half-written. Once the commit marker naming the folded journals exists, the new snapshot wins,
+     * even if we crash before the swap finishes.
+     *
+     * @param data the tasks to write
+     * @param folded the journals whose changes are all contained in <code>data</code>
+     * @throws IOException if an I/O error occurs during file writing
+     */
+    void commitSnapshot(CustomList data, Path... folded) throws IOException {
+        Path save = this.getSavePath();
+        Path temp = this.siblingPath(".tmp");
+        Path marker = this.siblingPath(".commit");
+        Files.createDirectories(save.toAbsolutePath().getParent());
+
+        byte[] content = (this.format == SaveFormat.BINARY)
+                ? BinaryFormat.encode(data)
+                : this.formatText(data).getBytes(StandardCharsets.UTF_8);
+
+        try {
+            writeDurably(temp, content);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        StringBuilder folds = new StringBuilder();
+        for (Path log : folded) {
+            folds.append(log.getFileName()).append("\n");
+        }
+
+        writeDurably(marker, folds.toString().getBytes(StandardCharsets.UTF_8));
+        moveAtomically(temp, save);
+
+        for (Path log : folded) {
+            if (this.journal != null && log.equals(this.journal.getPath())) {
+                this.journal.reset();
+            } else {
+                Files.deleteIfExists(log);
+            }
+        }
+
+        Files.delete(marker);
+    }
+
+    private String formatText(CustomList data) {
         int size = data.size();
         StringBuilder taskDetails = new StringBuilder();
 
         for (int i = 0; i < size; i++) {
-            taskDetails.append(data.formatSave(i));
+            taskDetails.append(formatRecord(data.get(i)));
             taskDetails.append("\n");
         }
 
-        fw.write(taskDetails.toString());
-        fw.close();
-        System.out.println(Ui.INDENT + "Saved successfully.");
+        return taskDetails.toString();
+    }
+
+    private static void writeDurably(Path target, byte[] content) throws IOException {
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Finishes or rolls back a save that was interrupted by a crash.
+     * A save is only considered done once its commit marker has been written.
+     */
+    private void recover() throws IOException {
+        Path temp = this.siblingPath(".tmp");
+        Path marker = this.siblingPath(".commit");
+
+        if (!Files.exists(marker)) {
+            Files.deleteIfExists(temp);
+            return;
+        }
+
+        if (Files.exists(temp)) {
+            moveAtomically(temp, this.getSavePath());
+        }
+
+        List<String> folded = Files.readAllLines(marker);
+        for (String name : folded) {
+            Files.deleteIfExists(marker.resolveSibling(name));
+        }
+
+        Files.delete(marker);
+    }
+
+    Journal getJournal() {
+        return this.journal;
+    }
+
+    Path getSavePath() {
+        return Paths.get(this.path);
+    }
+
+    Path getJournalPath() {
+        return this.siblingPath(".log");
+    }
+
+    /**
+     * Returns the location of the journal being folded into the save file by a running compaction.
+     */
+    Path getFrozenJournalPath() {
+        return this.siblingPath(".log.old");
+    }
+
+    private Path siblingPath(String extension) {
+        String base = this.path.endsWith(".txt")
+                ? this.path.substring(0, this.path.length() - ".txt".length())
+                : this.path;
+        return Paths.get(base + extension);
     }
 }
@@ -0,0 +1,83 @@
+package katsu.tasks;
+
+import java.util.BitSet;
+
+/**
+ * Per-attribute bitsets over the slots of a task list, where a task's slot is its list order.
+ * Bit <code>i</code> of each bitset describes the task in slot <code>i</code>, so filters on type
+ * and completion become a handful of word-wide bit operations instead of scans over task objects,
+ * and adding, removing or marking a task only sets or clears its own bits.
+ * Slots of deleted tasks stay clear until the list reassigns list orders and rebuilds the index.
+ * Filters on date are answered by the <code>DateIndex</code> instead.
+ */
+class AttributeIndex {
+    private final BitSet occupied = new BitSet();
+    private final BitSet todos = new BitSet();
+    private final BitSet deadlines = new BitSet();
+    private final BitSet events = new BitSet();
+    private final BitSet done = new BitSet();
+
+    /**
+     * Returns the slot of a task, which is its list order.
+     */
+    static int slotOf(Task task) {
+        return Math.toIntExact(task.getListOrder());
+    }
+
+    void add(Task task) {
+        int slot = slotOf(task);
+        this.occupied.set(slot);
+
+        if (task instanceof Deadline) {
+            this.deadlines.set(slot);
+        } else if (task instanceof Event) {
+            this.events.set(slot);
+        } else {
+            this.todos.set(slot);
+        }
+
+        this.done.set(slot, task.isComplete());
+    }
+
+    void remove(Task task) {
+        int slot = slotOf(task);
+        this.occupied.clear(slot);
+        this.todos.clear(slot);
+        this.deadlines.clear(slot);
+        this.events.clear(slot);
+        this.done.clear(slot);
+    }
+
+    void setDone(Task task, boolean isDone) {
+        this.done.set(slotOf(task), isDone);
+    }
+
+    void clear() {
+        this.occupied.clear();
+        this.todos.clear();
+        this.deadlines.clear();
+        this.events.clear();
+        this.done.clear();
+    }
+
+    BitSet all() {
+        return (BitSet) this.occupied.clone();
+    }
+
+    BitSet ofType(char label) {
+        switch (label) {
+        case 'T':
+            return (BitSet) this.todos.clone();
+        case 'D':
+            return (BitSet) this.deadlines.clone();
+        case 'E':
+            return (BitSet) this.events.clone();
+        default:
+            throw new IllegalArgumentException("Unknown task type: " + label);
+        }
+    }
+
+    BitSet done() {
+        return (BitSet) this.done.clone();
+    }
+}
@@ -0,0 +1,266 @@
+package katsu.tasks;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import katsu.response.KatsuResponse;
+
+/**
+ * Task list that can be shared between threads, such as the UI and a background thread.
+ * Every change takes a write lock and every query takes a read lock, so queries run in parallel.
+ * The results of <code>printList</code> and <code>findKeyword</code> are also published with the version
+ * of the list they were rendered from, and are served with an optimistic read that takes no lock at all
+ * while no change has been made since.
+ * Observers are notified while the write lock is held, and may query the list from the notifying thread.
+ */
+public class ConcurrentCustomList extends CustomList {
+    private static final int MAX_PUBLISHED = 256;
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Rendered> published = new ConcurrentHashMap<>();
+    private volatile Thread writer;
+
+    @Override
+    public void addObserver(ListObserver observer) {
+        this.write(() -> super.addObserver(observer));
+    }
+
+    @Override
+    public String add(Task task, boolean isQuiet) {
+        return this.write(() -> super.add(task, isQuiet));
+    }
+
+    @Override
+    public void addAll(List<Task> tasks) {
+        this.write(() -> super.addAll(tasks));
+    }
+
+    @Override
+    public KatsuResponse markCompleted(String id, String userInput) {
+        return this.write(() -> super.markCompleted(id, userInput));
+    }
+
+    @Override
+    public KatsuResponse markUncompleted(String id, String userInput) {
+        return this.write(() -> super.markUncompleted(id, userInput));
+    }
+
+    @Override
+    public String deleteTask(String id) {
+        return this.write(() -> super.deleteTask(id));
+    }
+
+    @Override
+    public KatsuResponse markAll(String selector, boolean isComplete, String userInput) {
+        return this.write(() -> super.markAll(selector, isComplete, userInput));
+    }
+
+    @Override
+    KatsuResponse markAll(BitSet selected, boolean isComplete, String userInput) {
+        return this.write(() -> super.markAll(selected, isComplete, userInput));
+    }
+
+    @Override
+    public String deleteAll(String selector) {
+        return this.write(() -> super.deleteAll(selector));
+    }
+
+    @Override
+    String deleteAll(BitSet selected) {
+        return this.write(() -> super.deleteAll(selected));
+    }
+
+    @Override
+    public void insertAll(int[] positions, List<Task> tasks) {
+        this.write(() -> super.insertAll(positions, tasks));
+    }
+
+    @Override
+    public String printList() {
+        return this.readOptimistically("list", super::printList);
+    }
+
+    @Override
+    public String findKeyword(String... words) {
+        return this.readOptimistically("find " + String.join(" ", words), () -> super.findKeyword(words));
+    }
+
+    @Override
+    public String printRange(int from, int to) {
+        return this.read(() -> super.printRange(from, to));
+    }
+
+    /**
+     * Displays all tasks in chunks of lines. Every chunk is rendered under the read lock before this
+     * returns, since rendering a chunk later would race with writers changing its tasks.
+     *
+     * @param chunkSize the most tasks in a chunk
+     * @return the chunks of the listing, in order
+     */
+    @Override
+    public Stream<String> streamList(int chunkSize) {
+        return this.read(() -> super.streamList(chunkSize).collect(Collectors.toUnmodifiableList())).stream();
+    }
+
+    @Override
+    public String findSimilar(String... words) {
+        return this.read(() -> super.findSimilar(words));
+    }
+
+    @Override
+    public String findMatching(Query query) {
+        return this.read(() -> super.findMatching(query));
+    }
+
+    @Override
+    public String sortEarliest() {
+        return this.read(super::sortEarliest);
+    }
+
+    @Override
+    public String sortLatest() {
+        return this.read(super::sortLatest);
+    }
+
+    @Override
+    public String findOn(LocalDate day) {
+        return this.read(() -> super.findOn(day));
+    }
+
+    @Override
+    public String findBetween(LocalDate from, LocalDate to) {
+        return this.read(() -> super.findBetween(from, to));
+    }
+
+    @Override
+    public KatsuResponse findOverlapping(String id, String userInput) {
+        return this.read(() -> super.findOverlapping(id, userInput));
+    }
+
+    @Override
+    public String findConflicts() {
+        return this.read(super::findConflicts);
+    }
+
+    @Override
+    public Task get(int index) {
+        return this.read(() -> super.get(index));
+    }
+
+    @Override
+    public String formatSave(int index) {
+        return this.read(() -> super.formatSave(index));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.read(super::isEmpty);
+    }
+
+    @Override
+    public int size() {
+        return this.read(super::size);
+    }
+
+    @Override
+    public long getVersion() {
+        return this.read(super::getVersion);
+    }
+
+    @Override
+    int positionOf(Task task) {
+        return this.read(() -> super.positionOf(task));
+    }
+
+    /**
+     * Returns the published result for the key if no change was made since it was rendered,
+     * and otherwise renders it under a read lock and publishes it.
+     */
+    private String readOptimistically(String key, Supplier<String> render) {
+        if (this.writer == Thread.currentThread()) {
+            return render.get();
+        }
+
+        long stamp = this.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            long version = super.getVersion();
+            Rendered rendered = this.published.get(key);
+            if (rendered != null && rendered.version == version && this.lock.validate(stamp)) {
+                return rendered.text;
+            }
+        }
+
+        stamp = this.lock.readLock();
+        try {
+            String text = render.get();
+
+            if (this.published.size() >= MAX_PUBLISHED) {
+                this.published.clear();
+            }
+            this.published.put(key, new Rendered(super.getVersion(), text));
+
+            return text;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    private <T> T read(Supplier<T> query) {
+        if (this.writer == Thread.currentThread()) {
+            return query.get();
+        }
+
+        long stamp = this.lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Makes a change under the write lock. A change made by an observer while it is being notified
+     * runs under the lock its thread already holds.
+     */
+    private <T> T write(Supplier<T> change) {
+        if (this.writer == Thread.currentThread()) {
+            return change.get();
+        }
+
+        long stamp = this.lock.writeLock();
+        this.writer = Thread.currentThread();
+        try {
+            return change.get();
+        } finally {
+            this.writer = null;
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    private void write(Runnable change) {
+        this.write(() -> {
+            change.run();
+            return null;
+        });
+    }
+
+    /**
+     * A result rendered from one version of the list.
+     */
+    private static class Rendered {
+        private final long version;
+        private final String text;
+
+        Rendered(long version, String text) {
+            this.version = version;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package katsu.tasks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Finds events that are booked over each other.
+ * Two events clash when they share at least a minute of their half-open spans from
+ * <code>IntervalTree</code>, so back-to-back events do not clash.
+ */
+class ConflictDetector {
+    private static final Comparator<Task> BY_END = Comparator.comparingLong(IntervalTree::endOf)
+            .thenComparingLong(Task::getListOrder);
+
+    /**
+     * Checks whether two events clash.
+     */
+    static boolean isClash(Task a, Task b) {
+        return a != b && a instanceof Event && b instanceof Event
+                && IntervalTree.startOf(a) < IntervalTree.endOf(b)
+                && IntervalTree.startOf(b) < IntervalTree.endOf(a);
+    }
+
+    /**
+     * Returns every pair of clashing events in one sweep over the tasks, ordered by start.
+     * The events still running when an event starts are kept ordered by end, so the ones that
+     * are over can be dropped from the front and all the others clash with the new event.
+     * Each pair holds the event that started first, then the other one.
+     *
+     * @param byStart the tasks in order of their start, where tasks other than events are skipped
+     */
+    static List<Task[]> sweep(List<Task> byStart) {
+        TreeSet<Task> running = new TreeSet<>(BY_END);
+        List<Task[]> clashes = new ArrayList<>();
+
+        for (Task task : byStart) {
+            if (!(task instanceof Event)) {
+                continue;
+            }
+
+            long start = IntervalTree.startOf(task);
+            while (!running.isEmpty() && IntervalTree.endOf(running.first()) <= start) {
+                running.pollFirst();
+            }
+
+            for (Task other : running) {
+                clashes.add(new Task[] {other, task});
+            }
+
+            running.add(task);
+        }
+
+        return clashes;
+    }
+}
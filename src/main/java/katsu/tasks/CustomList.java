@@ -1,31 +1,66 @@
 package katsu.tasks;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.LinkedHashSet;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import katsu.response.ErrorResponse;
 import katsu.response.KatsuResponse;
 import katsu.response.SuccessResponse;
+import katsu.util.DateUtils;
 
 /**
  * Represents a custom list implementation for managing Task objects.
  * Provides functionality to add, remove, mark, and search tasks with user feedback.
  */
 public class CustomList {
-    private List<Task> list;
+    private PositionIndex list;
+    private Map<Integer, Task> tasksById;
+    private List<ListObserver> observers;
+    private TrigramIndex trigramIndex;
+    private FuzzyIndex fuzzyIndex;
+    private DateIndex dateIndex;
+    private IntervalTree intervalTree;
+    private AttributeIndex attributes;
+    private ResultCache cache;
+    private DescriptionPool descriptions;
+    private long nextListOrder;
+    private int nextId = 1;
+    private long version;
 
     /**
      * Constructs a new empty <code>CustomList</code>.
      */
     public CustomList() {
-        this.list = new ArrayList<>();
+        this.list = new PositionIndex();
+        this.tasksById = new HashMap<>();
+        this.observers = new ArrayList<>();
+        this.trigramIndex = new TrigramIndex();
+        this.fuzzyIndex = new FuzzyIndex();
+        this.dateIndex = new DateIndex();
+        this.intervalTree = new IntervalTree();
+        this.attributes = new AttributeIndex();
+        this.cache = new ResultCache(ResultCache.DEFAULT_CAPACITY);
+        this.descriptions = new DescriptionPool();
+    }
+
+    /**
+     * Registers an observer to be notified of every subsequent change to the list.
+     *
+     * @param observer the observer to register
+     */
+    public void addObserver(ListObserver observer) {
+        this.observers.add(observer);
     }
 
     /**
@@ -35,15 +70,20 @@ public class CustomList {
      * @param isQuiet if true, suppresses user feedback messages; if false, displays addition confirmation
      */
     public String add(Task task, boolean isQuiet) {
+        this.register(task);
+        this.index(task);
+        this.list.add(task);
+        this.version++;
+        this.observers.forEach(observer -> observer.onAdd(task));
+
         if (isQuiet) {
-            this.list.add(task);
             return "";
         } else {
-            this.list.add(task);
             int size = this.list.size();
             StringBuilder katsuResponse = new StringBuilder();
 
-            katsuResponse.append("Quack! I've added the task below to your list:\n");
+            katsuResponse.append("Quack! I've added the task below to your list as #").append(task.getId())
+                    .append(":\n");
             katsuResponse.append(task.printTask()).append("\n");
 
             if (size == 1) {
@@ -52,19 +92,37 @@ public class CustomList {
                 katsuResponse.append("You now have ").append(size).append(" tasks in the list.");
             }
 
+            List<Task> clashes = this.findClashes(task);
+            if (!clashes.isEmpty()) {
+                katsuResponse.append("\nHeads up, it clashes with:\n").append(this.printNumbered(clashes));
+            }
+
             return katsuResponse.toString();
         }
     }
 
     /**
-     * Marks a task as completed based on its position in the list.
+     * Appends all the given tasks to the list in order, without any user feedback.
      *
-     * @param id the string representation of the task number (1-based index)
+     * @param tasks the tasks to be added to the list
+     */
+    public void addAll(List<Task> tasks) {
+        tasks.forEach(this::register);
+        tasks.forEach(this::index);
+        this.list.addAll(tasks);
+        this.version++;
+        tasks.forEach(task -> this.observers.forEach(observer -> observer.onAdd(task)));
+    }
+
+    /**
+     * Marks a task as completed based on its position in the list or its ID.
+     *
+     * @param id the string representation of the task number (1-based index), or of its ID after a '#'
      */
     public KatsuResponse markCompleted(String id, String userInput) {
         int index;
         try {
-            index = Integer.parseInt(id) - 1;
+            index = this.resolve(id);
         } catch (NumberFormatException e) {
             return new ErrorResponse(userInput, "⚠ Quack! That does not look like a number... •᷄ɞ•");
         }
@@ -83,6 +141,9 @@ public class CustomList {
         }
 
         currTask.markCompleted();
+        this.attributes.setDone(currTask, true);
+        this.version++;
+        this.observers.forEach(observer -> observer.onMark(index, true));
 
         return new SuccessResponse(userInput,
                 "Quack! I have marked this task as completed:\n"
@@ -91,14 +152,14 @@ public class CustomList {
 
 
     /**
-     * Marks a task as uncompleted based on its position in the list.
+     * Marks a task as uncompleted based on its position in the list or its ID.
      *
-     * @param id the string representation of the task number (1-based index)
+     * @param id the string representation of the task number (1-based index), or of its ID after a '#'
      */
     public KatsuResponse markUncompleted(String id, String userInput) {
         int index;
         try {
-            index = Integer.parseInt(id) - 1;
+            index = this.resolve(id);
         } catch (NumberFormatException e) {
             return new ErrorResponse(userInput, "⚠ Quack! That does not look like a number... •᷄ɞ•");
         }
@@ -116,6 +177,9 @@ public class CustomList {
         }
 
         currTask.markUncompleted();
+        this.attributes.setDone(currTask, false);
+        this.version++;
+        this.observers.forEach(observer -> observer.onMark(index, false));
 
         return new SuccessResponse(userInput,
                 "Quack! I have marked this task as not done yet:\n"
@@ -124,20 +188,27 @@ public class CustomList {
 
 
     /**
-     * Removes a task from the list based on its position and provides user feedback.
+     * Removes a task from the list based on its position or its ID and provides user feedback.
      *
-     * @param id the string representation of the task number (1-based index)
+     * @param id the string representation of the task number (1-based index), or of its ID after a '#'
+     * @throws NumberFormatException if the task number or ID is not a number
+     * @throws IndexOutOfBoundsException if there is no such task
      */
     public String deleteTask(String id) {
-        int index = Integer.parseInt(id) - 1;
-        assert index >= 0 : "index should be >= 0";
+        int index = this.resolve(id);
 
         StringBuilder response = new StringBuilder();
 
-        Task currTask = this.list.get(index);
-        this.list.remove(index);
+        Task currTask = this.list.remove(index);
+        this.unindex(currTask);
+        this.version++;
+        this.observers.forEach(observer -> observer.onDelete(index, currTask));
         int size = this.list.size();
 
+        if (this.list.isSparse()) {
+            this.reindex(new ArrayList<>(this.list));
+        }
+
         response.append("Quack! I've removed the task below from your list:\n");
         response.append(currTask.printTask()).append("\n");
 
@@ -152,97 +223,444 @@ public class CustomList {
         return response.toString();
     }
 
+    /**
+     * Marks every selected task as completed or not as one batch, and summarises the change.
+     * Tasks that already have the wanted status are left alone.
+     *
+     * @param selector task numbers or IDs separated by commas, where two of them joined by '-' select
+     *                 every task in between, such as <code>3,7,9-20</code>
+     * @param isComplete the new completion status of the tasks
+     */
+    public KatsuResponse markAll(String selector, boolean isComplete, String userInput) {
+        BitSet selected;
+        try {
+            selected = this.select(selector);
+        } catch (NumberFormatException e) {
+            return new ErrorResponse(userInput, "⚠ Quack! That does not look like a number... •᷄ɞ•");
+        } catch (IndexOutOfBoundsException e) {
+            return new ErrorResponse(userInput, "⚠ Quack! You do not have that task number.");
+        } catch (IllegalArgumentException e) {
+            return new ErrorResponse(userInput, "⚠ Quack! " + e.getMessage());
+        }
+
+        return this.markAll(selected, isComplete, userInput);
+    }
+
+    /**
+     * Marks the tasks at the selected positions as completed or not as one batch.
+     */
+    KatsuResponse markAll(BitSet selected, boolean isComplete, String userInput) {
+        BitSet changed = new BitSet(selected.length());
+        selected.stream()
+                .filter(index -> this.list.get(index).isComplete() != isComplete)
+                .forEach(changed::set);
+
+        String status = isComplete ? "completed" : "not done yet";
+        if (changed.isEmpty()) {
+            return new ErrorResponse(userInput, "⚠ Quack! "
+                    + (selected.cardinality() == 1 ? "This task is" : "These tasks are") + " already " + status + ".");
+        }
+
+        changed.stream().forEach(index -> {
+            Task task = this.list.get(index);
+            if (isComplete) {
+                task.markCompleted();
+            } else {
+                task.markUncompleted();
+            }
+            this.attributes.setDone(task, isComplete);
+        });
+        this.version++;
+        this.observers.forEach(observer -> {
+            observer.onBatchStart();
+            changed.stream().forEach(index -> observer.onMark(index, isComplete));
+            observer.onBatchEnd();
+        });
+
+        int skipped = selected.cardinality() - changed.cardinality();
+        return new SuccessResponse(userInput, "Quack! I have marked " + countTasks(changed.cardinality())
+                + " as " + status + "."
+                + (skipped == 0 ? "" : "\n" + countTasks(skipped) + (skipped == 1 ? " was" : " were")
+                        + (isComplete ? " already completed." : " not completed yet.")));
+    }
+
+    /**
+     * Removes every selected task as one batch and summarises the change. Observers are told of the
+     * removals from the last position to the first, so that every reported position is the one the task
+     * had just before its own removal.
+     *
+     * @param selector task numbers or IDs separated by commas, where two of them joined by '-' select
+     *                 every task in between, such as <code>3,7,9-20</code>
+     * @throws NumberFormatException if a task number or ID is not a number
+     * @throws IndexOutOfBoundsException if there is no such task
+     * @throws IllegalArgumentException if a range ends before it starts
+     */
+    public String deleteAll(String selector) {
+        return this.deleteAll(this.select(selector));
+    }
+
+    /**
+     * Removes the tasks at the selected positions as one batch.
+     */
+    String deleteAll(BitSet selected) {
+        List<Task> removed = new ArrayList<>(selected.cardinality());
+        selected.stream().forEach(position -> removed.add(this.list.get(position)));
+
+        // Remove from the last position down, so the earlier positions stay put
+        for (int index = selected.length() - 1; index >= 0; index = selected.previousSetBit(index - 1)) {
+            this.unindex(this.list.remove(index));
+        }
+
+        if (this.list.isSparse()) {
+            this.reindex(new ArrayList<>(this.list));
+        }
+
+        this.version++;
+        this.observers.forEach(observer -> {
+            observer.onBatchStart();
+            int next = removed.size() - 1;
+            for (int index = selected.length() - 1; index >= 0; index = selected.previousSetBit(index - 1)) {
+                observer.onDelete(index, removed.get(next--));
+            }
+            observer.onBatchEnd();
+        });
+
+        int size = this.list.size();
+        StringBuilder response = new StringBuilder();
+        response.append("Quack! I've removed ").append(countTasks(removed.size())).append(" from your list.\n");
+
+        if (size == 0) {
+            response.append("You have no more task in the list.");
+        } else if (size == 1) {
+            response.append("You now have 1 task in the list.");
+        } else {
+            response.append("You now have ").append(size).append(" tasks in the list.");
+        }
+
+        return response.toString();
+    }
+
+    /**
+     * Puts tasks back into the list at the given positions as one batch, keeping their IDs.
+     * Each task goes back into the slot it had before where it can, so the indexes are not rebuilt.
+     *
+     * @param positions the positions the tasks end up at, in increasing order
+     * @param tasks the tasks to put back, in the same order
+     * @throws IndexOutOfBoundsException if a position is past the end of the list
+     */
+    public void insertAll(int[] positions, List<Task> tasks) {
+        for (int i = 0; i < tasks.size(); i++) {
+            this.insert(positions[i], tasks.get(i));
+        }
+
+        tasks.forEach(this::register);
+
+        this.version++;
+        this.observers.forEach(observer -> {
+            observer.onBatchStart();
+            for (int i = 0; i < tasks.size(); i++) {
+                observer.onInsert(positions[i], tasks.get(i));
+            }
+            observer.onBatchEnd();
+        });
+    }
+
+    /**
+     * Puts a task into the list at a position, in its old slot if that still lies between its neighbours.
+     * Only when no slot is left between them, as after the list was compacted, are list orders reassigned,
+     * with a free slot before every task so that the tasks put back next fit in without a rebuild.
+     */
+    private void insert(int position, Task task) {
+        int size = this.list.size();
+        if (position > size) {
+            throw new IndexOutOfBoundsException("No position " + position + " to insert at");
+        } else if (position == size) {
+            this.index(task);
+            this.list.add(task);
+            return;
+        }
+
+        long after = (position == 0) ? -1 : this.list.get(position - 1).getListOrder();
+        long before = this.list.get(position).getListOrder();
+        if (after + 1 == before) {
+            this.reindex(new ArrayList<>(this.list), 2);
+            this.insert(position, task);
+            return;
+        }
+
+        if (task.getListOrder() <= after || task.getListOrder() >= before) {
+            task.setListOrder(after + 1);
+        }
+        this.addToIndexes(task);
+        this.list.fill(task);
+    }
+
     /**
      * Displays all tasks in the list with their numbering and completion status.
      */
     public String printList() {
-        int size = this.list.size();
+        return this.cached("list", () -> printTasks(this.list));
+    }
 
-        return IntStream.range(0, size)
-                .mapToObj((index) -> (index + 1) + ". " + this.list.get(index).printTask())
-                .collect(Collectors.joining("\n"));
+    /**
+     * Displays the tasks from one position up to another with their numbering and completion status.
+     * Only the tasks in the range are rendered, so a page costs the same however long the list is.
+     *
+     * @param from the position of the first task to display (0-based index)
+     * @param to the position after the last task to display
+     * @throws IndexOutOfBoundsException if the range is not within the list
+     */
+    public String printRange(int from, int to) {
+        Objects.checkFromToIndex(from, to, this.list.size());
+        return printTasks(this.list, from, to);
+    }
+
+    /**
+     * Displays all tasks in chunks of lines, where every chunk is only rendered once it is reached.
+     * The chunks show the list as it was when this was called.
+     *
+     * @param chunkSize the most tasks in a chunk
+     * @return the chunks of the listing, in order
+     */
+    public Stream<String> streamList(int chunkSize) {
+        List<Task> tasks = new ArrayList<>(this.list);
+        int chunks = (tasks.size() + chunkSize - 1) / chunkSize;
+
+        return IntStream.range(0, chunks)
+                .mapToObj(chunk -> printTasks(tasks, chunk * chunkSize,
+                        Math.min(tasks.size(), (chunk + 1) * chunkSize)));
     }
 
     /**
-     * Searches for tasks containing a specific keyword and displays matching results.
+     * Searches for tasks containing any of the given keywords and displays matching results.
+     * A keyword matches a task if it appears anywhere in the task's description.
      *
      * @param words the keywords to search for in task descriptions
      */
     public String findKeyword(String... words) {
+        return this.cached("find " + String.join(" ", words), () -> {
+            if (this.list.isEmpty()) {
+                return "Quack! You have no tasks in your list.";
+            }
+
+            Map<Long, Task> matchedTasks = new TreeMap<>(); // keeps list order and removes duplicates
+
+            Arrays.stream(words)
+                    .distinct()
+                    .forEach(word -> this.matchKeyword(word)
+                            .forEach(task -> matchedTasks.put(task.getListOrder(), task)));
+
+            if (matchedTasks.isEmpty()) {
+                return "Quack! No task description matches.";
+            }
+
+            StringBuilder response = new StringBuilder();
+            response.append("Quack! Here are the matching tasks in your list:\n");
+            response.append(printTasks(new ArrayList<>(matchedTasks.values())));
+
+            return response.toString();
+        });
+    }
+
+    /**
+     * Searches for tasks with a word that is close to one of the given words, allowing for typos,
+     * and displays them from the closest match.
+     * Words of up to 4 characters tolerate one typo, and longer words tolerate two.
+     *
+     * @param words the possibly misspelt words to search for
+     */
+    public String findSimilar(String... words) {
         if (this.list.isEmpty()) {
             return "Quack! You have no tasks in your list.";
         }
 
-        Set<Task> matchedTasks = new LinkedHashSet<>(); // automatically removes duplicates
-
-        Arrays.stream(words)
-                .distinct()
-                .forEach(word -> this.list.stream()
-                        .filter(task -> task.hasKeyword(word))
-                        .forEach(task -> matchedTasks.add(task)));
+        List<Task> matchedTasks = this.fuzzyIndex.find(words);
 
         if (matchedTasks.isEmpty()) {
-            return "Quack! No task description matches.";
+            return "Quack! No task description comes close.";
         }
 
-        // Add unique tasks to the new list
-        CustomList newList = new CustomList();
-        matchedTasks.forEach(task -> newList.add(task, true));
-
         StringBuilder response = new StringBuilder();
-        response.append("Quack! Here are the matching tasks in your list:\n");
-        response.append(newList.printList());
+        response.append("Quack! Here are the closest matching tasks in your list:\n");
+        response.append(printTasks(matchedTasks));
 
         return response.toString();
     }
 
-
     /**
-     * Sorts tasks from earliest to latest date and returns a formatted response.
-     * Tasks that implement Schedulable are sorted by their comparable date,
-     * while other tasks (like ToDos) are placed at the beginning.
+     * Displays the tasks matched by a query, in list order.
      *
-     * @return a formatted string showing tasks sorted from earliest to latest
+     * @param query the compiled query to evaluate
      */
-    public String sortEarliest() {
+    public String findMatching(Query query) {
         if (this.list.isEmpty()) {
             return "Quack! You have no tasks in your list.";
         }
 
-        StringBuilder response = new StringBuilder();
+        BitSet matches = query.evaluate(this);
 
-        this.list.sort(Comparator.comparing(
-                task -> (task instanceof Schedulable)
-                        ? ((Schedulable) task).getComparableDate()
-                        : LocalDateTime.MIN));
+        if (matches.isEmpty()) {
+            return "Quack! No task matches your query.";
+        }
+
+        List<Task> matchedTasks = matches.stream()
+                .mapToObj(this.list::atSlot)
+                .collect(Collectors.toList());
+
+        StringBuilder response = new StringBuilder();
+        response.append("Quack! Here are the tasks matching your query:\n");
+        response.append(printTasks(matchedTasks));
 
-        response.append("Quack! Here are your tasks sorted from the earliest:\n");
-        response.append(this.printList());
         return response.toString();
     }
 
     /**
-     * Sorts tasks from latest to earliest date and returns a formatted response.
-     * Tasks that implement Schedulable are sorted by their comparable date in reverse order,
+     * Lists tasks from earliest to latest date and returns a formatted response.
+     * Tasks that implement Schedulable are ordered by their comparable date,
+     * while other tasks (like ToDos) are placed at the beginning.
+     * The list itself is left as it is, so every task keeps its number.
+     *
+     * @return a formatted string showing tasks from earliest to latest
+     */
+    public String sortEarliest() {
+        if (this.list.isEmpty()) {
+            return "Quack! You have no tasks in your list.";
+        }
+
+        return this.cached("sort earliest", () -> "Quack! Here are your tasks sorted from the earliest:\n"
+                + this.printNumbered(this.dateIndex.earliestFirst()));
+    }
+
+    /**
+     * Lists tasks from latest to earliest date and returns a formatted response.
+     * Tasks that implement Schedulable are ordered by their comparable date in reverse order,
      * while other tasks (like ToDos) are placed at the end.
+     * The list itself is left as it is, so every task keeps its number.
      *
-     * @return a formatted string showing tasks sorted from latest to earliest
+     * @return a formatted string showing tasks from latest to earliest
      */
     public String sortLatest() {
         if (this.list.isEmpty()) {
             return "Quack! You have no tasks in your list.";
         }
 
-        StringBuilder response = new StringBuilder();
+        return this.cached("sort latest", () -> "Quack! Here are your tasks sorted from the latest:\n"
+                + this.printNumbered(this.dateIndex.latestFirst()));
+    }
+
+    /**
+     * Displays the deadlines due and the events taking place on a given day.
+     *
+     * @param day the day to look at
+     */
+    public String findOn(LocalDate day) {
+        if (this.list.isEmpty()) {
+            return "Quack! You have no tasks in your list.";
+        }
 
-        this.list.sort(Comparator.comparing(
-                task -> (task instanceof Schedulable)
-                        ? ((Schedulable) task).getComparableDate()
-                        : LocalDateTime.MIN, Comparator.reverseOrder()));
+        return this.cached("on " + day, () -> {
+            List<Task> matchedTasks = this.findDuring(day, day);
 
-        response.append("Quack! Here are your tasks sorted from the latest:\n");
-        response.append(this.printList());
-        return response.toString();
+            return matchedTasks.isEmpty()
+                    ? "Quack! You have nothing on " + day + "."
+                    : "Quack! Here are your tasks on " + day + ":\n" + this.printNumbered(matchedTasks);
+        });
+    }
+
+    /**
+     * Displays the deadlines due and the events taking place on any day of a period.
+     *
+     * @param from the first day of the period
+     * @param to the last day of the period
+     */
+    public String findBetween(LocalDate from, LocalDate to) {
+        if (this.list.isEmpty()) {
+            return "Quack! You have no tasks in your list.";
+        }
+
+        return this.cached("between " + from + " " + to, () -> {
+            List<Task> matchedTasks = this.findDuring(from, to);
+
+            return matchedTasks.isEmpty()
+                    ? "Quack! You have nothing between " + from + " and " + to + "."
+                    : "Quack! Here are your tasks between " + from + " and " + to + ":\n"
+                            + this.printNumbered(matchedTasks);
+        });
+    }
+
+    /**
+     * Displays the other dated tasks whose time overlaps with a task's, based on its position in the list or its ID.
+     *
+     * @param id the string representation of the task number (1-based index), or of its ID after a '#'
+     */
+    public KatsuResponse findOverlapping(String id, String userInput) {
+        int index;
+        try {
+            index = this.resolve(id);
+        } catch (NumberFormatException e) {
+            return new ErrorResponse(userInput, "⚠ Quack! That does not look like a number... •᷄ɞ•");
+        }
+
+        if (index < 0 || index >= this.list.size()) {
+            return new ErrorResponse(userInput, "⚠ Quack! You do not have that task number.");
+        }
+
+        Task currTask = this.list.get(index);
+
+        if (!(currTask instanceof Schedulable)) {
+            return new ErrorResponse(userInput,
+                    "⚠ Quack! This task has no date to overlap with:\n" + currTask.printTask());
+        }
+
+        List<Task> matchedTasks = this.intervalTree.overlapping(
+                IntervalTree.startOf(currTask), IntervalTree.endOf(currTask));
+        matchedTasks.remove(currTask);
+
+        if (matchedTasks.isEmpty()) {
+            return new SuccessResponse(userInput,
+                    "Quack! Nothing overlaps with this task:\n" + currTask.printTask());
+        }
+
+        return new SuccessResponse(userInput,
+                "Quack! Here are the tasks overlapping with " + currTask.printTask() + ":\n"
+                        + this.printNumbered(matchedTasks));
+    }
+
+    /**
+     * Displays every pair of events that are booked over each other.
+     */
+    public String findConflicts() {
+        if (this.list.isEmpty()) {
+            return "Quack! You have no tasks in your list.";
+        }
+
+        return this.cached("conflicts", () -> {
+            List<Task[]> clashes = ConflictDetector.sweep(this.dateIndex.earliestFirst());
+
+            if (clashes.isEmpty()) {
+                return "Quack! None of your events clash.";
+            }
+
+            StringBuilder response = new StringBuilder();
+            response.append("Quack! Here are the events that clash:");
+
+            for (Task[] clash : clashes) {
+                response.append("\n").append(this.printNumbered(List.of(clash[0])))
+                        .append("\n   with ").append(this.printNumbered(List.of(clash[1])));
+            }
+
+            return response.toString();
+        });
+    }
+
+    /**
+     * Returns the task at a specific position in the list.
+     *
+     * @param index the position of the task (0-based index)
+     * @return the task at that position
+     */
+    public Task get(int index) {
+        return this.list.get(index);
     }
 
     /**
@@ -272,4 +690,286 @@ public class CustomList {
     public int size() {
         return this.list.size();
     }
+
+    /**
+     * Returns the number of changes made to the list so far.
+     * Rendered results are only reused while the version stays the same.
+     *
+     * @return the current version of the list
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Returns how many list, find and sort results were served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getCacheHits() {
+        return this.cache.getHits();
+    }
+
+    /**
+     * Returns how many list, find and sort results had to be rendered.
+     *
+     * @return the number of cache misses
+     */
+    public long getCacheMisses() {
+        return this.cache.getMisses();
+    }
+
+    /**
+     * Returns how many descriptions of tasks added to this list were replaced by an equal one already in use.
+     *
+     * @return the number of descriptions shared
+     */
+    public long getSharedDescriptions() {
+        return this.descriptions.getDeduplicated();
+    }
+
+    /**
+     * Returns roughly how many bytes of heap sharing descriptions has saved.
+     *
+     * @return the estimated number of bytes saved
+     */
+    public long getDescriptionBytesSaved() {
+        return this.descriptions.getBytesSaved();
+    }
+
+    AttributeIndex getAttributes() {
+        return this.attributes;
+    }
+
+    /**
+     * Returns the slots of the tasks whose description contains the text.
+     */
+    BitSet slotsContaining(String text) {
+        BitSet bits = new BitSet();
+        this.matchKeyword(text).forEach(task -> bits.set(AttributeIndex.slotOf(task)));
+        return bits;
+    }
+
+    /**
+     * Returns the slots of the dated tasks whose date falls in <code>[from, to)</code>, in epoch minutes.
+     * Only the matching tasks are visited, by walking the date index.
+     */
+    BitSet slotsDatedBetween(long from, long to) {
+        BitSet bits = new BitSet();
+        this.dateIndex.datedBetween(from, to).forEach(task -> bits.set(AttributeIndex.slotOf(task)));
+        return bits;
+    }
+
+    /**
+     * Returns the result cached for the key at the current version, rendering and caching it on a miss.
+     */
+    private String cached(String key, Supplier<String> render) {
+        String result = this.cache.get(key, this.version);
+
+        if (result == null) {
+            result = render.get();
+            this.cache.put(key, this.version, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the tasks whose description contains the keyword, in list order.
+     * Keywords too short to have a trigram fall back to scanning the whole list.
+     */
+    private List<Task> matchKeyword(String keyword) {
+        List<Task> candidates = (keyword.length() < TrigramIndex.GRAM_LENGTH)
+                ? this.list
+                : this.trigramIndex.candidates(keyword);
+
+        return candidates.stream()
+                .filter(task -> task.hasKeyword(keyword))
+                .collect(Collectors.toList());
+    }
+
+    private void index(Task task) {
+        task.setListOrder(this.nextListOrder++);
+        this.addToIndexes(task);
+    }
+
+    private void addToIndexes(Task task) {
+        this.trigramIndex.add(task);
+        this.fuzzyIndex.add(task);
+        this.dateIndex.add(task);
+        this.intervalTree.add(task);
+        this.attributes.add(task);
+    }
+
+    /**
+     * Takes a task that has just left the list out of every index.
+     */
+    private void unindex(Task task) {
+        this.tasksById.remove(task.getId());
+        this.trigramIndex.remove(task);
+        this.fuzzyIndex.remove(task);
+        this.dateIndex.remove(task);
+        this.intervalTree.remove(task);
+        this.attributes.remove(task);
+    }
+
+    /**
+     * Gives a newly added task the next ID, unless it already has one that no other task in the list uses,
+     * such as a task read back from storage or put back by an undo, and shares its description.
+     */
+    private void register(Task task) {
+        task.shareDescription(this.descriptions);
+
+        if (task.getId() <= 0 || this.tasksById.containsKey(task.getId())) {
+            task.setId(this.nextId);
+        }
+
+        this.nextId = Math.max(this.nextId, task.getId() + 1);
+        this.tasksById.put(task.getId(), task);
+    }
+
+    /**
+     * Returns the position of the task a user refers to, by its number in the list or by its ID after a '#'.
+     * An unknown ID gives a position past the end of the list.
+     *
+     * @throws NumberFormatException if the reference is not a number
+     */
+    private int resolve(String reference) {
+        if (!reference.startsWith("#")) {
+            return Integer.parseInt(reference) - 1;
+        }
+
+        Task task = this.tasksById.get(Integer.parseInt(reference.substring(1)));
+        return (task == null) ? this.list.size() : this.list.positionOf(task);
+    }
+
+    /**
+     * Returns the current position of a task in the list, or -1 if it is not in the list.
+     */
+    int positionOf(Task task) {
+        return this.list.positionOf(task);
+    }
+
+    /**
+     * Returns the positions of the tasks a user selects with numbers, IDs and ranges separated by commas.
+     *
+     * @throws NumberFormatException if a task number or ID is not a number
+     * @throws IndexOutOfBoundsException if there is no such task
+     * @throws IllegalArgumentException if a range ends before it starts
+     */
+    private BitSet select(String selector) {
+        BitSet selected = new BitSet(this.list.size());
+
+        for (String part : selector.split(",", -1)) {
+            // Look past the first character so that a lone negative number is not taken for a range
+            int dash = part.indexOf('-', 1);
+            String first = (dash < 0) ? part : part.substring(0, dash);
+            String last = (dash < 0) ? part : part.substring(dash + 1);
+            int from = Objects.checkIndex(this.resolve(first), this.list.size());
+            int to = Objects.checkIndex(this.resolve(last), this.list.size());
+
+            if (to < from) {
+                throw new IllegalArgumentException("The range " + part + " ends before it starts.");
+            }
+
+            selected.set(from, to + 1);
+        }
+
+        return selected;
+    }
+
+    /**
+     * Replaces the list with the same tasks in the given order, reassigning list orders from 0
+     * and rebuilding the indexes. This also reclaims the slots of deleted tasks.
+     */
+    private void reindex(List<Task> ordered) {
+        this.reindex(ordered, 1);
+    }
+
+    /**
+     * Reassigns list orders from the given order, leaving <code>spacing - 1</code> free slots before every task,
+     * and rebuilds the indexes.
+     */
+    private void reindex(List<Task> ordered, int spacing) {
+        this.nextListOrder = 0;
+        this.list.clear();
+        this.trigramIndex.clear();
+        this.fuzzyIndex.clear();
+        this.dateIndex.clear();
+        this.intervalTree.clear();
+        this.attributes.clear();
+        for (Task task : ordered) {
+            this.nextListOrder += spacing - 1;
+            this.index(task);
+        }
+        this.list.addAll(ordered);
+    }
+
+    /**
+     * Returns the other events clashing with a task, by start. Only events can clash.
+     */
+    private List<Task> findClashes(Task task) {
+        if (!(task instanceof Event)) {
+            return List.of();
+        }
+
+        return this.intervalTree.overlapping(IntervalTree.startOf(task), IntervalTree.endOf(task)).stream()
+                .filter(other -> ConflictDetector.isClash(task, other))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the dated tasks taking place on any day from <code>from</code> to <code>to</code>, by start.
+     */
+    private List<Task> findDuring(LocalDate from, LocalDate to) {
+        long start = DateUtils.toEpochMinutes(from.atStartOfDay());
+        long end = DateUtils.toEpochMinutes(to.plusDays(1).atStartOfDay());
+        return this.intervalTree.overlapping(start, end);
+    }
+
+    /**
+     * Lists the given tasks one per line, each under its own number in the list.
+     */
+    private String printNumbered(List<Task> tasks) {
+        return tasks.stream()
+                .map(task -> (this.list.positionOf(task) + 1) + ". " + task.printTask())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String countTasks(int count) {
+        return count + (count == 1 ? " task" : " tasks");
+    }
+
+    /**
+     * Lists the tasks from one position up to another one per line, under their number in the list.
+     */
+    private static String printTasks(List<Task> tasks, int from, int to) {
+        StringBuilder lines = new StringBuilder();
+
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                lines.append("\n");
+            }
+            lines.append(i + 1).append(". ").append(tasks.get(i).printTask());
+        }
+
+        return lines.toString();
+    }
+
+    /**
+     * Numbers the given tasks from 1 and lists them one per line.
+     */
+    private static String printTasks(List<Task> tasks) {
+        StringBuilder lines = new StringBuilder();
+        int number = 0;
+
+        for (Task task : tasks) {
+            if (number > 0) {
+                lines.append("\n");
+            }
+            lines.append(++number).append(". ").append(task.printTask());
+        }
+
+        return lines.toString();
+    }
 }
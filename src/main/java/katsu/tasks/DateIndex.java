@@ -0,0 +1,94 @@
+package katsu.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Index of the tasks in date order, so that listing them by date is a walk rather than a sort.
+ * Deadlines and events are bucketed by their comparable date in minutes since the epoch, and tasks
+ * without a date are kept in their own bucket. Every bucket is kept sorted by list order.
+ */
+class DateIndex {
+    private final NavigableMap<Long, List<Task>> dated = new TreeMap<>();
+    private final List<Task> undated = new ArrayList<>();
+
+    /**
+     * Indexes a task, which may sit anywhere in list order.
+     */
+    void add(Task task) {
+        if (task instanceof Schedulable) {
+            TrigramIndex.addInOrder(this.dated.computeIfAbsent(dateOf(task), key -> new ArrayList<>(1)), task);
+        } else {
+            TrigramIndex.addInOrder(this.undated, task);
+        }
+    }
+
+    void remove(Task task) {
+        if (!(task instanceof Schedulable)) {
+            removeFrom(this.undated, task);
+            return;
+        }
+
+        long date = dateOf(task);
+        List<Task> bucket = this.dated.get(date);
+        if (bucket != null) {
+            removeFrom(bucket, task);
+            if (bucket.isEmpty()) {
+                this.dated.remove(date);
+            }
+        }
+    }
+
+    void clear() {
+        this.dated.clear();
+        this.undated.clear();
+    }
+
+    /**
+     * Returns the dated tasks whose date falls in <code>[from, to)</code>, in epoch minutes,
+     * from the earliest date.
+     */
+    List<Task> datedBetween(long from, long to) {
+        List<Task> tasks = new ArrayList<>();
+
+        if (from < to) {
+            this.dated.subMap(from, true, to, false).values().forEach(tasks::addAll);
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Returns the tasks from the earliest date, with undated tasks first.
+     * Tasks sharing a date stay in list order.
+     */
+    List<Task> earliestFirst() {
+        List<Task> tasks = new ArrayList<>(this.undated);
+        this.dated.values().forEach(tasks::addAll);
+        return tasks;
+    }
+
+    /**
+     * Returns the tasks from the latest date, with undated tasks last.
+     * Tasks sharing a date stay in list order.
+     */
+    List<Task> latestFirst() {
+        List<Task> tasks = new ArrayList<>();
+        this.dated.descendingMap().values().forEach(tasks::addAll);
+        tasks.addAll(this.undated);
+        return tasks;
+    }
+
+    private static long dateOf(Task task) {
+        return ((Schedulable) task).getComparableMinutes();
+    }
+
+    private static void removeFrom(List<Task> bucket, Task task) {
+        int index = TrigramIndex.indexOf(bucket, task.getListOrder());
+        if (index >= 0) {
+            bucket.remove(index);
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package katsu.tasks;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
+import katsu.util.DateTimeCodec;
 import katsu.util.DateUtils;
 
 /**
@@ -11,7 +11,7 @@ import katsu.util.DateUtils;
  */
 public class Deadline extends Task implements Schedulable {
     private static final String LABEL = "[D]";
-    private LocalDateTime dueDate;
+    private final long dueMinutes;
 
     /**
      * Constructs a new <code>Deadline</code>> task with the given description and dueDate.
@@ -20,32 +20,43 @@ public class Deadline extends Task implements Schedulable {
      * @param dueDate the date and time by which the task should be completed
      */
     public Deadline(String task, LocalDateTime dueDate) {
+        this(task, DateUtils.toEpochMinutes(dueDate));
+    }
+
+    /**
+     * Constructs a new <code>Deadline</code> task due at the given minute.
+     *
+     * @param task the description of the dueDate task
+     * @param dueMinutes the number of minutes since the epoch by which the task should be completed
+     */
+    public Deadline(String task, long dueMinutes) {
         super(task);
-        this.dueDate = dueDate;
+        this.dueMinutes = dueMinutes;
     }
 
 
     /**
-     * Returns a formatted string representation of the dueDate task for display purposes.
+     * Renders the dueDate task for display purposes.
      * Includes the dueDate label, completion status, task description, and dueDate date.
      *
      * @return a formatted string showing the dueDate task details
      */
     @Override
-    public String printTask() {
-        return LABEL + super.printTask() + " (by: " + DateUtils.convertDateTimeToString(dueDate) + ")";
+    protected String renderTask() {
+        return LABEL + super.renderTask() + " (by: " + DateUtils.convertDateTimeToString(this.getComparableDate())
+                + ")";
     }
 
     /**
-     * Returns a formatted string representation of the dueDate task for saving to storage.
+     * Renders the dueDate task for saving to storage.
      * Uses a machine-readable date format suitable for later parsing.
      *
      * @return a string in the format "D | completion_status | task_description | yyyy-MM-dd HH:mm"
      */
     @Override
-    public String formatSave() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        return "D | " + super.formatSave() + " | " + this.dueDate.format(formatter);
+    protected String renderSave() {
+        StringBuilder save = new StringBuilder("D | ").append(super.renderSave()).append(" | ");
+        return DateTimeCodec.formatTo(this.dueMinutes, save).toString();
     }
 
     /**
@@ -55,6 +66,15 @@ public class Deadline extends Task implements Schedulable {
      * @return the LocalDateTime representing the task's due date
      */
     public LocalDateTime getComparableDate() {
-        return this.dueDate;
+        return DateUtils.fromEpochMinutes(this.dueMinutes);
+    }
+
+    /**
+     * Returns the due date of the task in minutes since the epoch.
+     *
+     * @return the number of minutes since the epoch of the task's due date
+     */
+    public long getComparableMinutes() {
+        return this.dueMinutes;
     }
 }
@@ -0,0 +1,89 @@
+package katsu.tasks;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shares one <code>String</code> between all tasks of a list with the same description, such as the many
+ * copies of a recurring event in a large save file. Every list has its own pool and interns the description
+ * of each task added to it, so this applies to tasks that are loaded as well as to tasks that are added.
+ * The pool holds its strings weakly, so a description is forgotten once no task uses it any more.
+ * It also counts the duplicates it has replaced and roughly how much heap they would have taken.
+ * A pool is not thread-safe, and is only used by the list that owns it.
+ */
+public class DescriptionPool {
+    // Object header, hash and coder of a String, and the header and length of its byte array
+    private static final int STRING_OVERHEAD = 24;
+    private static final int ARRAY_OVERHEAD = 16;
+
+    private final Map<String, WeakReference<String>> canonical = new WeakHashMap<>();
+    private long deduplicated;
+    private long bytesSaved;
+
+    /**
+     * Returns the description equal to the given one that is already in use, or remembers the given
+     * description if there is none.
+     *
+     * @param description the description to intern
+     * @return a description equal to the given one, shared with every other task that has it
+     */
+    public String intern(String description) {
+        if (description == null) {
+            return null;
+        }
+
+        WeakReference<String> reference = this.canonical.get(description);
+        String existing = (reference == null) ? null : reference.get();
+
+        if (existing == null) {
+            this.canonical.put(description, new WeakReference<>(description));
+            return description;
+        }
+
+        if (existing != description) {
+            this.deduplicated++;
+            this.bytesSaved += sizeOf(description);
+        }
+
+        return existing;
+    }
+
+    /**
+     * Returns how many descriptions have been replaced by one already in use.
+     */
+    public long getDeduplicated() {
+        return this.deduplicated;
+    }
+
+    /**
+     * Returns roughly how many bytes of heap the replaced descriptions took.
+     */
+    public long getBytesSaved() {
+        return this.bytesSaved;
+    }
+
+    /**
+     * Returns the number of distinct descriptions that are still in use.
+     */
+    public int size() {
+        return this.canonical.size();
+    }
+
+    /**
+     * Estimates the heap taken by a string, which stores one byte per character if every character
+     * is Latin-1 and two bytes otherwise.
+     */
+    private static long sizeOf(String text) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+
+        long arraySize = ARRAY_OVERHEAD + (long) text.length() * bytesPerChar;
+        return STRING_OVERHEAD + (arraySize + 7) / 8 * 8;
+    }
+}
@@ -1,8 +1,8 @@
 package katsu.tasks;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
+import katsu.util.DateTimeCodec;
 import katsu.util.DateUtils;
 
 /**
@@ -11,8 +11,8 @@ import katsu.util.DateUtils;
  */
 public class Event extends Task implements Schedulable {
     private static final String LABEL = "[E]";
-    private LocalDateTime startDate;
-    private LocalDateTime endDate;
+    private final long startMinutes;
+    private final long endMinutes;
 
     /**
      * Constructs a new <code>Event</code> object.
@@ -22,34 +22,45 @@ public class Event extends Task implements Schedulable {
      * @param endDate the end time of the event
      */
     public Event(String task, LocalDateTime startDate, LocalDateTime endDate) {
+        this(task, DateUtils.toEpochMinutes(startDate), DateUtils.toEpochMinutes(endDate));
+    }
+
+    /**
+     * Constructs a new <code>Event</code> object spanning the given minutes.
+     *
+     * @param task the description of the event task
+     * @param startMinutes the number of minutes since the epoch at which the event starts
+     * @param endMinutes the number of minutes since the epoch at which the event ends
+     */
+    public Event(String task, long startMinutes, long endMinutes) {
         super(task);
-        this.startDate = startDate;
-        this.endDate = endDate;
+        this.startMinutes = startMinutes;
+        this.endMinutes = endMinutes;
     }
 
     /**
-     * Returns a formatted string representation of the event task for display purposes.
+     * Renders the event task for display purposes.
      * Includes the event label, completion status, task description, and date range.
      *
      * @return a formatted string showing the event task details
      */
     @Override
-    public String printTask() {
-        return LABEL + super.printTask() + " (from: " + DateUtils.convertDateTimeToString(startDate)
-                + " to: " + DateUtils.convertDateTimeToString(endDate) + ")";
+    protected String renderTask() {
+        return LABEL + super.renderTask() + " (from: " + DateUtils.convertDateTimeToString(this.getComparableDate())
+                + " to: " + DateUtils.convertDateTimeToString(this.getEndDate()) + ")";
     }
 
     /**
-     * Returns a formatted string representation of the event task for saving to storage.
+     * Renders the event task for saving to storage.
      * Uses the default <code>LocalDate</code> toString format for machine-readable storage.
      *
      * @return a string in the format "E | completion_status | task_description | start_date | end_date"
      */
     @Override
-    public String formatSave() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        return "E | " + super.formatSave() + " | "
-                + this.startDate.format(formatter) + " | " + this.endDate.format(formatter);
+    protected String renderSave() {
+        StringBuilder save = new StringBuilder("E | ").append(super.renderSave()).append(" | ");
+        DateTimeCodec.formatTo(this.startMinutes, save).append(" | ");
+        return DateTimeCodec.formatTo(this.endMinutes, save).toString();
     }
 
     /**
@@ -59,6 +70,33 @@ public class Event extends Task implements Schedulable {
      * @return the LocalDateTime representing the task's start date
      */
     public LocalDateTime getComparableDate() {
-        return this.startDate;
+        return DateUtils.fromEpochMinutes(this.startMinutes);
+    }
+
+    /**
+     * Returns the start date of the event in minutes since the epoch.
+     *
+     * @return the number of minutes since the epoch of the event's start date
+     */
+    public long getComparableMinutes() {
+        return this.startMinutes;
+    }
+
+    /**
+     * Returns the end date of the event.
+     *
+     * @return the LocalDateTime representing the event's end date
+     */
+    public LocalDateTime getEndDate() {
+        return DateUtils.fromEpochMinutes(this.endMinutes);
+    }
+
+    /**
+     * Returns the end date of the event in minutes since the epoch.
+     *
+     * @return the number of minutes since the epoch of the event's end date
+     */
+    public long getEndMinutes() {
+        return this.endMinutes;
     }
 }
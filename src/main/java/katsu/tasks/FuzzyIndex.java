@@ -0,0 +1,213 @@
+package katsu.tasks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the words used in task descriptions, for finding tasks despite typos.
+ * Each word maps to the tasks using it, kept in list order, and every word is also stored
+ * in a BK-tree so that the words within a given edit distance of a query can be found
+ * without comparing the query against the whole vocabulary.
+ */
+class FuzzyIndex {
+    private final Map<String, List<Task>> postings = new HashMap<>();
+    private Node root;
+    private int treeSize;
+
+    /**
+     * Splits text into its distinct words, in order of first appearance.
+     * A word is a maximal run of letters and digits; matching is case-sensitive.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        int start = -1;
+
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+
+            if (isWordChar && start == -1) {
+                start = i;
+            } else if (!isWordChar && start != -1) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+
+        return words;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words.
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[b.length()];
+    }
+
+    /**
+     * Indexes a task, which may sit anywhere in list order.
+     */
+    void add(Task task) {
+        for (String word : tokenize(task.toString())) {
+            List<Task> posting = this.postings.get(word);
+            if (posting == null) {
+                posting = new ArrayList<>(1);
+                this.postings.put(word, posting);
+                this.insertWord(word);
+            }
+            TrigramIndex.addInOrder(posting, task);
+        }
+    }
+
+    void remove(Task task) {
+        for (String word : tokenize(task.toString())) {
+            List<Task> posting = this.postings.get(word);
+            if (posting == null) {
+                continue;
+            }
+
+            int index = TrigramIndex.indexOf(posting, task.getListOrder());
+            if (index >= 0) {
+                posting.remove(index);
+            }
+
+            if (posting.isEmpty()) {
+                // The word stays in the tree, but without a posting list it is no longer reported
+                this.postings.remove(word);
+            }
+        }
+
+        if (this.treeSize > 2 * this.postings.size() + 64) {
+            this.rebuildTree();
+        }
+    }
+
+    /**
+     * Forgets every task, keeping the vocabulary tree for the tasks that are indexed again.
+     */
+    void clear() {
+        this.postings.clear();
+    }
+
+    /**
+     * Returns the number of typos tolerated in a query word: one for short words, two otherwise.
+     */
+    static int tolerance(String word) {
+        return word.length() <= 4 ? 1 : 2;
+    }
+
+    /**
+     * Returns the tasks containing a word within the tolerated number of edits of any query word,
+     * closest first and in list order among tasks at the same distance.
+     */
+    List<Task> find(String... queries) {
+        Map<Task, Integer> distances = new IdentityHashMap<>();
+
+        for (String query : queries) {
+            this.collect(query, tolerance(query), distances);
+        }
+
+        List<Task> matches = new ArrayList<>(distances.keySet());
+        matches.sort(Comparator.<Task>comparingInt(distances::get).thenComparingLong(Task::getListOrder));
+        return matches;
+    }
+
+    /**
+     * Records, for every task containing a word within <code>maxDistance</code> edits of the query,
+     * the smallest such distance.
+     */
+    private void collect(String query, int maxDistance, Map<Task, Integer> distances) {
+        Deque<Node> pending = new ArrayDeque<>();
+
+        if (this.root != null) {
+            pending.push(this.root);
+        }
+
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(query, node.word);
+
+            if (distance <= maxDistance && this.postings.containsKey(node.word)) {
+                for (Task task : this.postings.get(node.word)) {
+                    distances.merge(task, distance, Math::min);
+                }
+            }
+
+            // By the triangle inequality, only children at distance +- maxDistance can hold matches
+            for (int d = Math.max(1, distance - maxDistance); d <= distance + maxDistance; d++) {
+                Node child = node.children.get(d);
+                if (child != null) {
+                    pending.push(child);
+                }
+            }
+        }
+    }
+
+    private void insertWord(String word) {
+        this.treeSize++;
+
+        if (this.root == null) {
+            this.root = new Node(word);
+            return;
+        }
+
+        Node node = this.root;
+        while (true) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                this.treeSize--;
+                return;
+            }
+
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(word));
+                return;
+            }
+            node = child;
+        }
+    }
+
+    private void rebuildTree() {
+        this.root = null;
+        this.treeSize = 0;
+        this.postings.keySet().forEach(this::insertWord);
+    }
+
+    /**
+     * A word in the BK-tree. Each child sits at a distinct edit distance from its parent.
+     */
+    private static class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package katsu.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Interval tree over the dated tasks, for finding the tasks that overlap a period of time.
+ * Every span is half-open, in minutes since the epoch: an event takes up <code>[start, end)</code>, so
+ * back-to-back events do not overlap, and a deadline takes up the single minute it is due.
+ * <code>ConflictDetector</code> uses the same spans. The tree is a treap ordered by start and then list order,
+ * where every node also records the latest end in its subtree so that whole subtrees ending
+ * before the period can be skipped. A query costs O(log n + k) expected for k results.
+ */
+class IntervalTree {
+    private final Random random = new Random();
+    private Node root;
+
+    /**
+     * Returns the first minute of a dated task.
+     */
+    static long startOf(Task task) {
+        return ((Schedulable) task).getComparableMinutes();
+    }
+
+    /**
+     * Returns the minute after the span of a dated task. Every task takes up at least the minute it starts.
+     */
+    static long endOf(Task task) {
+        long start = startOf(task);
+        return (task instanceof Event)
+                ? Math.max(start + 1, ((Event) task).getEndMinutes())
+                : start + 1;
+    }
+
+    /**
+     * Indexes a task, if it has a date.
+     */
+    void add(Task task) {
+        if (task instanceof Schedulable) {
+            this.root = insert(this.root, new Node(task, this.random.nextInt()));
+        }
+    }
+
+    void remove(Task task) {
+        if (task instanceof Schedulable) {
+            this.root = remove(this.root, startOf(task), task.getListOrder());
+        }
+    }
+
+    void clear() {
+        this.root = null;
+    }
+
+    /**
+     * Returns the tasks whose span shares at least a minute with <code>[from, to)</code>,
+     * ordered by start and then by list order.
+     */
+    List<Task> overlapping(long from, long to) {
+        List<Task> tasks = new ArrayList<>();
+        collect(this.root, from, to, tasks);
+        return tasks;
+    }
+
+    private static void collect(Node node, long from, long to, List<Task> tasks) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+
+        collect(node.left, from, to, tasks);
+
+        // Everything to the right starts even later
+        if (node.start >= to) {
+            return;
+        }
+
+        if (node.end > from) {
+            tasks.add(node.task);
+        }
+
+        collect(node.right, from, to, tasks);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+
+        if (added.priority > node.priority) {
+            Node[] parts = split(node, added.start, added.listOrder);
+            added.left = parts[0];
+            added.right = parts[1];
+            return added.update();
+        }
+
+        if (compare(added.start, added.listOrder, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+
+        return node.update();
+    }
+
+    private static Node remove(Node node, long start, long listOrder) {
+        if (node == null) {
+            return null;
+        }
+
+        int comparison = compare(start, listOrder, node);
+
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        } else if (comparison < 0) {
+            node.left = remove(node.left, start, listOrder);
+        } else {
+            node.right = remove(node.right, start, listOrder);
+        }
+
+        return node.update();
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before the key and the rest.
+     */
+    private static Node[] split(Node node, long start, long listOrder) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+
+        if (compare(start, listOrder, node) > 0) {
+            Node[] parts = split(node.right, start, listOrder);
+            node.right = parts[0];
+            parts[0] = node.update();
+            return parts;
+        } else {
+            Node[] parts = split(node.left, start, listOrder);
+            node.left = parts[1];
+            parts[1] = node.update();
+            return parts;
+        }
+    }
+
+    /**
+     * Joins two subtrees, where every node of the first is ordered before every node of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+
+        if (second == null) {
+            return first;
+        }
+
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            return first.update();
+        } else {
+            second.left = merge(first, second.left);
+            return second.update();
+        }
+    }
+
+    private static int compare(long start, long listOrder, Node node) {
+        int comparison = Long.compare(start, node.start);
+        return comparison != 0 ? comparison : Long.compare(listOrder, node.listOrder);
+    }
+
+    /**
+     * A dated task in the treap, with the latest end found in its subtree.
+     */
+    private static class Node {
+        private final Task task;
+        private final long start;
+        private final long end;
+        private final long listOrder;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(Task task, int priority) {
+            this.task = task;
+            this.start = startOf(task);
+            this.end = endOf(task);
+            this.listOrder = task.getListOrder();
+            this.priority = priority;
+            this.maxEnd = this.end;
+        }
+
+        Node update() {
+            this.maxEnd = this.end;
+            if (this.left != null) {
+                this.maxEnd = Math.max(this.maxEnd, this.left.maxEnd);
+            }
+            if (this.right != null) {
+                this.maxEnd = Math.max(this.maxEnd, this.right.maxEnd);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package katsu.tasks;
+
+/**
+ * Listener for changes made to a <code>CustomList</code>.
+ * Observers are notified after every successful mutation, in the order the mutations happen.
+ */
+public interface ListObserver {
+    /**
+     * Called after a task has been appended to the end of the list.
+     *
+     * @param task the task that was added
+     */
+    void onAdd(Task task);
+
+    /**
+     * Called after a task has been put back into the list, such as when a delete is undone.
+     *
+     * @param index the position of the task in the list (0-based index)
+     * @param task the task that was put back
+     */
+    void onInsert(int index, Task task);
+
+    /**
+     * Called after the completion status of a task has changed.
+     *
+     * @param index the position of the task in the list (0-based index)
+     * @param isComplete the new completion status of the task
+     */
+    void onMark(int index, boolean isComplete);
+
+    /**
+     * Called after a task has been removed from the list.
+     *
+     * @param index the position the task used to occupy (0-based index)
+     * @param task the task that was removed
+     */
+    void onDelete(int index, Task task);
+
+    /**
+     * Called before the changes of a batch command, such as deleting a range of tasks, are reported.
+     * The changes are then reported one by one, followed by <code>onBatchEnd</code>.
+     */
+    default void onBatchStart() {
+    }
+
+    /**
+     * Called after every change of a batch command has been reported.
+     */
+    default void onBatchEnd() {
+    }
+}
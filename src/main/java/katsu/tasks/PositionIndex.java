@@ -0,0 +1,207 @@
+package katsu.tasks;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * The tasks of a list in order, where finding, removing and ranking a task by position take O(log n).
+ * Every task sits in the slot given by its list order, and a Fenwick tree counts the occupied slots,
+ * so the task at a position is found by walking down the tree and a removal only empties its slot.
+ * Once most slots are empty, the owner should reassign list orders and rebuild the index.
+ * Tasks are appended in list order, or put into an empty slot between two others.
+ */
+class PositionIndex extends AbstractList<Task> {
+    private Task[] slots = new Task[16];
+    private int[] counts = new int[17];
+    private int slotCount;
+    private int size;
+
+    /**
+     * Appends a task, whose list order must be past every slot used so far.
+     */
+    @Override
+    public void add(int position, Task task) {
+        if (position != this.size) {
+            throw new UnsupportedOperationException("Tasks can only be appended");
+        }
+
+        int slot = Math.toIntExact(task.getListOrder());
+        if (slot < this.slotCount) {
+            throw new IllegalArgumentException("Task is out of list order: " + slot);
+        }
+
+        if (slot >= this.slots.length) {
+            this.grow(slot + 1);
+        }
+
+        this.slots[slot] = task;
+        this.slotCount = slot + 1;
+        this.update(slot, 1);
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Puts a task into the empty slot given by its list order, which may lie between other tasks.
+     */
+    void fill(Task task) {
+        int slot = Math.toIntExact(task.getListOrder());
+        if (slot < this.slotCount && this.slots[slot] != null) {
+            throw new IllegalArgumentException("Slot is taken: " + slot);
+        }
+
+        if (slot >= this.slots.length) {
+            this.grow(slot + 1);
+        }
+
+        this.slots[slot] = task;
+        this.slotCount = Math.max(this.slotCount, slot + 1);
+        this.update(slot, 1);
+        this.size++;
+        this.modCount++;
+    }
+
+    @Override
+    public Task get(int position) {
+        Objects.checkIndex(position, this.size);
+        return this.slots[this.select(position)];
+    }
+
+    @Override
+    public Task remove(int position) {
+        Objects.checkIndex(position, this.size);
+
+        int slot = this.select(position);
+        Task task = this.slots[slot];
+        this.slots[slot] = null;
+        this.update(slot, -1);
+        this.size--;
+        this.modCount++;
+
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        this.slots = new Task[16];
+        this.counts = new int[17];
+        this.slotCount = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int slot = this.skipEmpty(0);
+
+            @Override
+            public boolean hasNext() {
+                return this.slot < PositionIndex.this.slotCount;
+            }
+
+            @Override
+            public Task next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Task task = PositionIndex.this.slots[this.slot];
+                this.slot = this.skipEmpty(this.slot + 1);
+                return task;
+            }
+
+            private int skipEmpty(int from) {
+                while (from < PositionIndex.this.slotCount && PositionIndex.this.slots[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+        };
+    }
+
+    /**
+     * Returns the position of a task in the list, or -1 if it is not in the list.
+     */
+    int positionOf(Task task) {
+        long slot = task.getListOrder();
+
+        if (slot < 0 || slot >= this.slotCount || this.slots[(int) slot] != task) {
+            return -1;
+        }
+
+        return this.countUpTo((int) slot) - 1;
+    }
+
+    /**
+     * Returns the task in a slot, or null if the slot is empty.
+     */
+    Task atSlot(int slot) {
+        return (slot < this.slotCount) ? this.slots[slot] : null;
+    }
+
+    /**
+     * Checks whether most slots are empty, so that reassigning list orders would pay off.
+     */
+    boolean isSparse() {
+        return this.slotCount > 2 * this.size + 64;
+    }
+
+    /**
+     * Returns the slot of the task at a position, by walking down the Fenwick tree.
+     */
+    private int select(int position) {
+        int index = 0;
+        int remaining = position + 1;
+
+        for (int step = Integer.highestOneBit(this.counts.length - 1); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next < this.counts.length && this.counts[next] < remaining) {
+                index = next;
+                remaining -= this.counts[next];
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the number of tasks in slots <code>0</code> to <code>slot</code>.
+     */
+    private int countUpTo(int slot) {
+        int count = 0;
+
+        for (int i = slot + 1; i > 0; i -= i & -i) {
+            count += this.counts[i];
+        }
+
+        return count;
+    }
+
+    private void update(int slot, int delta) {
+        for (int i = slot + 1; i < this.counts.length; i += i & -i) {
+            this.counts[i] += delta;
+        }
+    }
+
+    private void grow(int minCapacity) {
+        this.slots = Arrays.copyOf(this.slots, Math.max(this.slots.length * 2, minCapacity));
+        this.counts = new int[this.slots.length + 1];
+
+        // Build the larger tree bottom-up in O(n)
+        for (int i = 1; i < this.counts.length; i++) {
+            this.counts[i] += (i <= this.slotCount && this.slots[i - 1] != null) ? 1 : 0;
+            int parent = i + (i & -i);
+            if (parent < this.counts.length) {
+                this.counts[parent] += this.counts[i];
+            }
+        }
+    }
+}
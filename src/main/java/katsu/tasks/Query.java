@@ -0,0 +1,129 @@
+package katsu.tasks;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.function.Function;
+
+import katsu.util.DateUtils;
+
+/**
+ * Represents a compiled filter over the tasks of a <code>CustomList</code>.
+ * Evaluating a query yields a bitset of the slots of the matching tasks: attribute filters are read from
+ * the list's per-attribute bitsets, and AND, OR and NOT combine them word by word.
+ */
+public final class Query {
+    private final Function<CustomList, BitSet> evaluator;
+
+    private Query(Function<CustomList, BitSet> evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Returns a query matching the tasks of one type.
+     *
+     * @param label the type label of the tasks, one of <code>T</code>, <code>D</code> or <code>E</code>
+     * @return the query
+     */
+    public static Query type(char label) {
+        if (label != 'T' && label != 'D' && label != 'E') {
+            throw new IllegalArgumentException("Unknown task type: " + label);
+        }
+
+        return new Query(list -> list.getAttributes().ofType(label));
+    }
+
+    /**
+     * Returns a query matching the completed tasks, or the uncompleted ones.
+     *
+     * @param isDone true to match completed tasks, false to match uncompleted ones
+     * @return the query
+     */
+    public static Query done(boolean isDone) {
+        return isDone
+                ? new Query(list -> list.getAttributes().done())
+                : not(done(true));
+    }
+
+    /**
+     * Returns a query matching deadlines due, and events starting, before the given day.
+     *
+     * @param date the first day not matched
+     * @return the query
+     */
+    public static Query before(LocalDate date) {
+        long end = DateUtils.toEpochMinutes(date.atStartOfDay());
+        return new Query(list -> list.slotsDatedBetween(Long.MIN_VALUE, end));
+    }
+
+    /**
+     * Returns a query matching deadlines due, and events starting, after the given day.
+     *
+     * @param date the last day not matched
+     * @return the query
+     */
+    public static Query after(LocalDate date) {
+        long start = DateUtils.toEpochMinutes(date.plusDays(1).atStartOfDay());
+        return new Query(list -> list.slotsDatedBetween(start, Long.MAX_VALUE));
+    }
+
+    /**
+     * Returns a query matching the tasks whose description contains the given text.
+     *
+     * @param text the word or phrase to look for
+     * @return the query
+     */
+    public static Query text(String text) {
+        return new Query(list -> list.slotsContaining(text));
+    }
+
+    /**
+     * Returns a query matching the tasks matched by both queries.
+     *
+     * @param left the first query
+     * @param right the second query
+     * @return the query
+     */
+    public static Query and(Query left, Query right) {
+        return new Query(list -> {
+            BitSet bits = left.evaluate(list);
+            bits.and(right.evaluate(list));
+            return bits;
+        });
+    }
+
+    /**
+     * Returns a query matching the tasks matched by either query.
+     *
+     * @param left the first query
+     * @param right the second query
+     * @return the query
+     */
+    public static Query or(Query left, Query right) {
+        return new Query(list -> {
+            BitSet bits = left.evaluate(list);
+            bits.or(right.evaluate(list));
+            return bits;
+        });
+    }
+
+    /**
+     * Returns a query matching the tasks not matched by the given query.
+     *
+     * @param operand the query to negate
+     * @return the query
+     */
+    public static Query not(Query operand) {
+        return new Query(list -> {
+            BitSet bits = list.getAttributes().all();
+            bits.andNot(operand.evaluate(list));
+            return bits;
+        });
+    }
+
+    /**
+     * Returns the slots of the matching tasks, in list order. The bitset is owned by the caller.
+     */
+    BitSet evaluate(CustomList list) {
+        return this.evaluator.apply(list);
+    }
+}
@@ -0,0 +1,64 @@
+package katsu.tasks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used cache of rendered command results.
+ * Every entry belongs to one version of the list; asking for another version drops them all,
+ * so a result can never outlive the mutation that made it stale.
+ * It is synchronized, since the readers of a concurrent list share it.
+ */
+class ResultCache {
+    static final int DEFAULT_CAPACITY = 32;
+
+    private final Map<String, String> entries;
+    private long version;
+    private long hits;
+    private long misses;
+
+    ResultCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return this.size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the result rendered for the key at the given list version, or null if there is none.
+     */
+    synchronized String get(String key, long version) {
+        this.moveTo(version);
+        String result = this.entries.get(key);
+
+        if (result == null) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+
+        return result;
+    }
+
+    synchronized void put(String key, long version, String result) {
+        this.moveTo(version);
+        this.entries.put(key, result);
+    }
+
+    synchronized long getHits() {
+        return this.hits;
+    }
+
+    synchronized long getMisses() {
+        return this.misses;
+    }
+
+    private void moveTo(long version) {
+        if (version != this.version) {
+            this.entries.clear();
+            this.version = version;
+        }
+    }
+}
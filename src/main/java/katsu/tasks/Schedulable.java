@@ -13,4 +13,12 @@ public interface Schedulable {
      * @return the LocalDateTime representing the task's scheduled time
      */
     LocalDateTime getComparableDate();
+
+    /**
+     * Returns the same date and time as <code>getComparableDate</code>, in minutes since the epoch.
+     * Comparing these primitive values is how tasks are ordered and range-queried by date.
+     *
+     * @return the number of minutes since the epoch of the task's scheduled time
+     */
+    long getComparableMinutes();
 }
@@ -3,10 +3,18 @@ package katsu.tasks;
 /**
  * Represents a description with a description and completion status.
  * This is the base class for different types of tasks in the application.
+ * The display and save strings of a task are rendered once and kept until the task changes,
+ * so listing or saving tasks that did not change costs no formatting.
+ * Tasks in the same list with the same description share one string, through the list's
+ * <code>DescriptionPool</code>.
  */
 public abstract class Task {
     private String description;
     private boolean isComplete;
+    private long listOrder;
+    private int id;
+    private String printed;
+    private String saved;
 
     /**
      * Constructs a new <code>Task</code> with the given description.
@@ -25,6 +33,7 @@ public abstract class Task {
      */
     public void markCompleted() {
         this.isComplete = true;
+        this.invalidate();
     }
 
     /**
@@ -33,6 +42,7 @@ public abstract class Task {
      */
     public void markUncompleted() {
         this.isComplete = false;
+        this.invalidate();
     }
 
     /**
@@ -46,11 +56,45 @@ public abstract class Task {
 
     /**
      * Returns a formatted string representation of the description for display purposes.
+     * The string is rendered on first use and reused until the task changes.
+     *
+     * @return a formatted string showing the task details
+     */
+    public final String printTask() {
+        String result = this.printed;
+
+        if (result == null) {
+            result = this.renderTask();
+            this.printed = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns a formatted string representation of the description for saving to storage.
+     * The string is rendered on first use and reused until the task changes.
+     *
+     * @return a string in the format produced by <code>renderSave</code>
+     */
+    public final String formatSave() {
+        String result = this.saved;
+
+        if (result == null) {
+            result = this.renderSave();
+            this.saved = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Renders the description for display purposes.
      * The format includes a checkbox indicator and the description.
      *
      * @return a formatted string showing completion status and description
      */
-    public String printTask() {
+    protected String renderTask() {
         String mark;
 
         if (this.isComplete) {
@@ -63,12 +107,12 @@ public abstract class Task {
     }
 
     /**
-     * Returns a formatted string representation of the description for saving to storage.
+     * Renders the description for saving to storage.
      * The format is suitable for file storage and later parsing.
      *
      * @return a string in the format "completion_status | task_description"
      */
-    public String formatSave() {
+    protected String renderSave() {
         int complete = this.isComplete ? 1 : 0;
         return complete + " | " + this.description;
     }
@@ -84,6 +128,54 @@ public abstract class Task {
         return this.description.contains(word);
     }
 
+    /**
+     * Returns the ID of the task, which stays the same while the task is in the list and is kept in the
+     * save file and the journal. IDs are given out in the order tasks are added, from one past the highest
+     * ID in the list, so only the ID of the last task added can come back after it is deleted and the list
+     * is reloaded.
+     *
+     * @return the ID of the task, or 0 if it was never added to a list
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Gives the task the ID it was saved with, before it is added to a list.
+     * A list keeps this ID unless another of its tasks already has it.
+     *
+     * @param id the saved ID, or 0 to have the list give out a new one
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Replaces the description with the equal one already in use in the pool, if there is one.
+     */
+    void shareDescription(DescriptionPool pool) {
+        this.description = pool.intern(this.description);
+    }
+
+    /**
+     * Returns the key that orders this task relative to the other tasks of its list.
+     */
+    long getListOrder() {
+        return this.listOrder;
+    }
+
+    void setListOrder(long listOrder) {
+        this.listOrder = listOrder;
+    }
+
+    /**
+     * Drops the rendered strings of the task. Called whenever a field they show changes.
+     */
+    protected void invalidate() {
+        this.printed = null;
+        this.saved = null;
+    }
+
     @Override
     public String toString() {
         return this.description;
@@ -17,24 +17,24 @@ public class ToDo extends Task {
     }
 
     /**
-     * Returns a formatted string representation of the todo task for display purposes.
+     * Renders the todo task for display purposes.
      * Includes the todo label along with the completion status and task description.
      *
      * @return a formatted string showing the todo task details
      */
     @Override
-    public String printTask() {
-        return LABEL + super.printTask();
+    protected String renderTask() {
+        return LABEL + super.renderTask();
     }
 
     /**
-     * Returns a formatted string representation of the todo task for saving to storage.
+     * Renders the todo task for saving to storage.
      * Uses a simple format suitable for file storage and later parsing.
      *
      * @return a string in the format "T | completion_status | task_description"
      */
     @Override
-    public String formatSave() {
-        return "T | " + super.formatSave();
+    protected String renderSave() {
+        return "T | " + super.renderSave();
     }
 }
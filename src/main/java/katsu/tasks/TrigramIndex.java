@@ -0,0 +1,142 @@
+package katsu.tasks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index from every three-character substring of task descriptions to the tasks containing it.
+ * A task can only contain a keyword if it contains all of the keyword's trigrams, so intersecting
+ * their posting lists narrows a substring search down to a few candidates, which are then confirmed
+ * with a real <code>contains</code> check. Posting lists are kept sorted by list order.
+ */
+class TrigramIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, List<Task>> postings = new HashMap<>();
+
+    /**
+     * Returns the distinct trigrams of the text, each packed into a long.
+     */
+    static Set<Long> trigrams(String text) {
+        Set<Long> grams = new HashSet<>();
+
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(pack(text, i));
+        }
+
+        return grams;
+    }
+
+    /**
+     * Indexes a task, which may sit anywhere in list order.
+     */
+    void add(Task task) {
+        for (Long gram : trigrams(task.toString())) {
+            addInOrder(this.postings.computeIfAbsent(gram, key -> new ArrayList<>(1)), task);
+        }
+    }
+
+    void remove(Task task) {
+        for (Long gram : trigrams(task.toString())) {
+            List<Task> posting = this.postings.get(gram);
+            if (posting == null) {
+                continue;
+            }
+
+            int index = indexOf(posting, task.getListOrder());
+            if (index >= 0) {
+                posting.remove(index);
+            }
+
+            if (posting.isEmpty()) {
+                this.postings.remove(gram);
+            }
+        }
+    }
+
+    void clear() {
+        this.postings.clear();
+    }
+
+    /**
+     * Returns, in list order, the tasks that contain every trigram of the keyword.
+     * These are a superset of the tasks containing the keyword itself.
+     *
+     * @param keyword a keyword at least <code>GRAM_LENGTH</code> characters long
+     */
+    List<Task> candidates(String keyword) {
+        assert keyword.length() >= GRAM_LENGTH : "keyword should be at least " + GRAM_LENGTH + " characters";
+
+        List<List<Task>> lists = new ArrayList<>();
+        for (Long gram : trigrams(keyword)) {
+            List<Task> posting = this.postings.get(gram);
+            if (posting == null) {
+                return Collections.emptyList();
+            }
+            lists.add(posting);
+        }
+
+        lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        List<Task> candidates = new ArrayList<>();
+
+        // Walk the rarest trigram and probe the others, which costs O(smallest * grams * log n)
+        for (Task task : lists.get(0)) {
+            boolean isInAll = true;
+            for (int i = 1; i < lists.size() && isInAll; i++) {
+                isInAll = indexOf(lists.get(i), task.getListOrder()) >= 0;
+            }
+
+            if (isInAll) {
+                candidates.add(task);
+            }
+        }
+
+        return candidates;
+    }
+
+    private static long pack(String text, int from) {
+        return (long) text.charAt(from) << 32 | (long) text.charAt(from + 1) << 16 | text.charAt(from + 2);
+    }
+
+    /**
+     * Returns the position of the task with the given list order in a list sorted by list order.
+     * If there is no such task, returns <code>-(insertion point) - 1</code>, as a binary search does.
+     */
+    static int indexOf(List<Task> posting, long listOrder) {
+        int low = 0;
+        int high = posting.size() - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long order = posting.get(mid).getListOrder();
+
+            if (order < listOrder) {
+                low = mid + 1;
+            } else if (order > listOrder) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    /**
+     * Adds a task to a list sorted by list order. A task past the end, as most are, is just appended.
+     */
+    static void addInOrder(List<Task> posting, Task task) {
+        int last = posting.size() - 1;
+        if (last < 0 || posting.get(last).getListOrder() < task.getListOrder()) {
+            posting.add(task);
+            return;
+        }
+
+        posting.add(-(indexOf(posting, task.getListOrder()) + 1), task);
+    }
+}
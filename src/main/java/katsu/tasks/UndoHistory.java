@@ -0,0 +1,241 @@
+package katsu.tasks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import katsu.response.ErrorResponse;
+import katsu.response.KatsuResponse;
+import katsu.response.SuccessResponse;
+
+/**
+ * Remembers the recent changes made to a task list, so that they can be undone and redone.
+ * Rather than copying the list, every command is remembered as the tasks it touched, which the tasks
+ * share with the list itself. Undoing a command applies its inverse through the list, so observers
+ * such as the journal see it as an ordinary change. Undone commands can be redone until a new command
+ * is made, and only the most recent commands are kept.
+ */
+public class UndoHistory implements ListObserver {
+    public static final int DEFAULT_LIMIT = 100;
+
+    private final CustomList tasks;
+    private final int limit;
+    private final Deque<Change> undoable = new ArrayDeque<>();
+    private final Deque<Change> redoable = new ArrayDeque<>();
+    private Change batch;
+    private boolean isApplying;
+
+    /**
+     * Constructs a history of the given task list that keeps the default number of commands.
+     *
+     * @param tasks the task list whose changes are remembered
+     */
+    public UndoHistory(CustomList tasks) {
+        this(tasks, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Constructs a history of the given task list.
+     *
+     * @param tasks the task list whose changes are remembered
+     * @param limit how many commands can be undone at most
+     */
+    public UndoHistory(CustomList tasks, int limit) {
+        this.tasks = tasks;
+        this.limit = limit;
+    }
+
+    /**
+     * Undoes the most recent command that has not been undone yet.
+     */
+    public KatsuResponse undo() {
+        if (this.undoable.isEmpty()) {
+            return new ErrorResponse("undo", "⚠ Quack! There is nothing to undo.");
+        }
+
+        Change change = this.undoable.pop();
+        this.apply(change, true);
+        this.redoable.push(change);
+
+        return new SuccessResponse("", "Quack! I have undone " + change.describe() + ".");
+    }
+
+    /**
+     * Redoes the most recently undone command.
+     */
+    public KatsuResponse redo() {
+        if (this.redoable.isEmpty()) {
+            return new ErrorResponse("redo", "⚠ Quack! There is nothing to redo.");
+        }
+
+        Change change = this.redoable.pop();
+        this.apply(change, false);
+        this.undoable.push(change);
+
+        return new SuccessResponse("", "Quack! I have redone " + change.describe() + ".");
+    }
+
+    @Override
+    public void onAdd(Task task) {
+        this.record(Kind.ADD, task, this.tasks.size() - 1);
+    }
+
+    @Override
+    public void onInsert(int index, Task task) {
+        this.record(Kind.ADD, task, index);
+    }
+
+    @Override
+    public void onMark(int index, boolean isComplete) {
+        this.record(isComplete ? Kind.MARK : Kind.UNMARK, this.tasks.get(index), index);
+    }
+
+    @Override
+    public void onDelete(int index, Task task) {
+        this.record(Kind.DELETE, task, index);
+    }
+
+    @Override
+    public void onBatchStart() {
+        if (!this.isApplying) {
+            this.batch = new Change(null);
+        }
+    }
+
+    @Override
+    public void onBatchEnd() {
+        Change finished = this.batch;
+        this.batch = null;
+
+        if (finished != null && !finished.tasks.isEmpty()) {
+            this.push(finished);
+        }
+    }
+
+    private void record(Kind kind, Task task, int index) {
+        if (this.isApplying) {
+            return;
+        }
+
+        if (this.batch != null) {
+            this.batch.kind = kind;
+            this.batch.add(task, index);
+            return;
+        }
+
+        Change change = new Change(kind);
+        change.add(task, index);
+        this.push(change);
+    }
+
+    private void push(Change change) {
+        this.undoable.push(change);
+        this.redoable.clear();
+
+        if (this.undoable.size() > this.limit) {
+            this.undoable.removeLast();
+        }
+    }
+
+    /**
+     * Makes a command happen again, or applies its inverse to undo it.
+     */
+    private void apply(Change change, boolean isUndo) {
+        this.isApplying = true;
+
+        try {
+            switch (change.kind) {
+            case ADD:
+                this.putBack(change, !isUndo);
+                break;
+            case DELETE:
+                this.putBack(change, isUndo);
+                break;
+            case MARK:
+                this.tasks.markAll(this.positionsOf(change), !isUndo, "");
+                break;
+            case UNMARK:
+                this.tasks.markAll(this.positionsOf(change), isUndo, "");
+                break;
+            default:
+                throw new IllegalStateException("Unknown change: " + change.kind);
+            }
+        } finally {
+            this.isApplying = false;
+        }
+    }
+
+    /**
+     * Puts the tasks of a command back where they were, or removes them again.
+     */
+    private void putBack(Change change, boolean isPuttingBack) {
+        if (!isPuttingBack) {
+            this.tasks.deleteAll(this.positionsOf(change));
+            return;
+        }
+
+        // Deletes are reported from the last position, so put the tasks back from the first one
+        List<Task> ordered = new ArrayList<>(change.tasks);
+        int[] positions = change.positions.stream().mapToInt(Integer::intValue).toArray();
+        if (change.kind == Kind.DELETE) {
+            Collections.reverse(ordered);
+            reverse(positions);
+        }
+
+        this.tasks.insertAll(positions, ordered);
+    }
+
+    private BitSet positionsOf(Change change) {
+        BitSet positions = new BitSet(this.tasks.size());
+        change.tasks.forEach(task -> positions.set(this.tasks.positionOf(task)));
+        return positions;
+    }
+
+    private static void reverse(int[] values) {
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    private enum Kind {
+        ADD, DELETE, MARK, UNMARK
+    }
+
+    /**
+     * The tasks touched by one command, with the position each of them had when it was touched.
+     */
+    private static class Change {
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<Integer> positions = new ArrayList<>();
+        private Kind kind;
+
+        Change(Kind kind) {
+            this.kind = kind;
+        }
+
+        void add(Task task, int position) {
+            this.tasks.add(task);
+            this.positions.add(position);
+        }
+
+        String describe() {
+            String count = (this.tasks.size() == 1) ? "1 task" : this.tasks.size() + " tasks";
+
+            switch (this.kind) {
+            case ADD:
+                return "adding " + count;
+            case DELETE:
+                return "deleting " + count;
+            case MARK:
+                return "marking " + count + " as completed";
+            default:
+                return "marking " + count + " as not done yet";
+            }
+        }
+    }
+}
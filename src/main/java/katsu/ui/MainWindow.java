@@ -1,7 +1,9 @@
 package katsu.ui;
 
+import java.util.Iterator;
 import java.util.Objects;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -50,9 +52,11 @@ public class MainWindow extends AnchorPane {
                         + "(type \"help\" for the list of all commands available)", katsuImage, "", ""));
     }
 
-    /** Injects the Duke instance */
+    /** Injects the Duke instance, and shows its reminders in the dialog */
     public void setKatsu(Katsu k) {
         katsu = k;
+        katsu.setReminderSink(message -> Platform.runLater(() -> dialogContainer.getChildren().add(
+                DialogBox.getKatsuDialog(message, katsuImage, "", ""))));
     }
 
     /**
@@ -64,26 +68,44 @@ public class MainWindow extends AnchorPane {
     private void handleUserInput() {
         String input = userInput.getText();
         KatsuResponse res = Parser.handleCommand(input, katsu);
+        Iterator<String> chunks = res.getChunks().iterator();
+        String message = chunks.next();
 
         // Handle exit command
-        if ("exit_application".equalsIgnoreCase(res.getMessage())) {
+        if ("exit_application".equalsIgnoreCase(message)) {
             deactivate();
         }
 
         // Create dialog boxes
-        if (res.getMessage() != null) {
+        if (message != null) {
             DialogBox userDialog = DialogBox.getUserDialog(input, userImage);
 
             // Pass message, error, and user input
             DialogBox katsuDialog = DialogBox.getKatsuDialog(
-                    res.getMessage(), katsuImage, res.getError(), res.getUserInput());
+                    message, katsuImage, res.getError(), res.getUserInput());
 
             dialogContainer.getChildren().addAll(userDialog, katsuDialog);
+            showRemaining(chunks);
         }
 
         userInput.clear();
     }
 
+    /**
+     * Shows the rest of a long response one chunk at a time, letting the window update in between.
+     */
+    private void showRemaining(Iterator<String> chunks) {
+        if (!chunks.hasNext()) {
+            return;
+        }
+
+        String chunk = chunks.next();
+        Platform.runLater(() -> {
+            dialogContainer.getChildren().add(DialogBox.getKatsuDialog(chunk, katsuImage, "", ""));
+            showRemaining(chunks);
+        });
+    }
+
 
     /**
      * Closes the application window.
@@ -0,0 +1,202 @@
+package katsu.util;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads and writes dates in the fixed "yyyy-MM-dd HH:mm" format of commands and save files,
+ * straight from and to minutes since 1970-01-01 00:00.
+ * Every character is checked in place and the calendar is computed with integer arithmetic, so unlike a
+ * general <code>DateTimeFormatter</code>, neither parsing nor formatting allocates, save for the small
+ * adapter every input is read through, which the JIT removes once the call is inlined. Parsing is strict:
+ * the text must be exactly 16 characters long, and the date must exist, so "2026-02-30" is rejected.
+ */
+public class DateTimeCodec {
+    /** The number of characters in "yyyy-MM-dd HH:mm". */
+    public static final int LENGTH = 16;
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int MIN_YEAR = 1;
+    private static final int MAX_YEAR = 9999;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int DAYS_PER_ERA = 146097;
+    private static final int DAYS_TO_EPOCH = 719468;
+
+    /**
+     * Parses a date and time in "yyyy-MM-dd HH:mm" format.
+     *
+     * @param text the text to parse
+     * @return the number of minutes since the epoch
+     * @throws DateTimeParseException if the text is not a valid date and time in the format
+     */
+    public static long parseMinutes(CharSequence text) {
+        return parse(text::charAt, text.length());
+    }
+
+    /**
+     * Parses a date and time in "yyyy-MM-dd HH:mm" format from ASCII bytes.
+     *
+     * @param bytes the bytes holding the text
+     * @param offset the index of the first byte of the text
+     * @return the number of minutes since the epoch
+     * @throws DateTimeParseException if the bytes are not a valid date and time in the format
+     */
+    public static long parseMinutes(byte[] bytes, int offset) {
+        int length = (offset < 0) ? 0 : Math.max(0, Math.min(LENGTH, bytes.length - offset));
+        return parse(index -> bytes[offset + index], length);
+    }
+
+    /**
+     * Parses a date and time in "yyyy-MM-dd HH:mm" format from the ASCII bytes between two absolute
+     * indexes of a buffer, without moving its position.
+     *
+     * @param buffer the buffer holding the text
+     * @param from the index of the first byte of the text
+     * @param to the index after the last byte of the text
+     * @return the number of minutes since the epoch
+     * @throws DateTimeParseException if the bytes are not a valid date and time in the format
+     */
+    public static long parseMinutes(ByteBuffer buffer, int from, int to) {
+        return parse(index -> buffer.get(from + index), to - from);
+    }
+
+    /**
+     * Formats a number of minutes since the epoch as "yyyy-MM-dd HH:mm".
+     *
+     * @param epochMinutes the number of minutes since the epoch
+     * @return the formatted date and time
+     */
+    public static String format(long epochMinutes) {
+        return formatTo(epochMinutes, new StringBuilder(LENGTH)).toString();
+    }
+
+    /**
+     * Appends a number of minutes since the epoch as "yyyy-MM-dd HH:mm".
+     *
+     * @param epochMinutes the number of minutes since the epoch
+     * @param out where to append the formatted date and time
+     * @return <code>out</code>
+     */
+    public static StringBuilder formatTo(long epochMinutes, StringBuilder out) {
+        long epochDay = Math.floorDiv(epochMinutes, MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(epochMinutes, MINUTES_PER_DAY);
+
+        // Days since 0000-03-01, so that the leap day falls at the end of every year
+        long shifted = epochDay + DAYS_TO_EPOCH;
+        long era = Math.floorDiv(shifted, DAYS_PER_ERA);
+        int dayOfEra = (int) (shifted - era * DAYS_PER_ERA);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return out.append(LocalDateTime.ofEpochSecond(epochMinutes * 60, 0, ZoneOffset.UTC).format(FORMATTER));
+        }
+
+        appendTwoDigits(out, (int) year / 100);
+        appendTwoDigits(out, (int) year % 100).append('-');
+        appendTwoDigits(out, month).append('-');
+        appendTwoDigits(out, day).append(' ');
+        appendTwoDigits(out, minuteOfDay / 60).append(':');
+        return appendTwoDigits(out, minuteOfDay % 60);
+    }
+
+    /**
+     * Parses the characters of any of the inputs, which must number exactly <code>LENGTH</code>.
+     */
+    private static long parse(CharAccess text, int length) {
+        if (length != LENGTH
+                || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != ' ' || text.charAt(13) != ':') {
+            throw invalid(text, length);
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || !isValid(year, month, day, hour, minute)) {
+            throw invalid(text, length);
+        }
+
+        return epochDay(year, month, day) * MINUTES_PER_DAY + hour * 60 + minute;
+    }
+
+    private static boolean isValid(int year, int month, int day, int hour, int minute) {
+        return year >= MIN_YEAR && month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month)
+                && hour <= 23 && minute <= 59;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            boolean isLeap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return isLeap ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    /**
+     * Returns the number of days from 1970-01-01 to a valid date.
+     */
+    private static long epochDay(int year, int month, int day) {
+        int shiftedYear = month <= 2 ? year - 1 : year;
+        int era = shiftedYear / 400;
+        int yearOfEra = shiftedYear - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (long) era * DAYS_PER_ERA + dayOfEra - DAYS_TO_EPOCH;
+    }
+
+    /**
+     * Reads a run of decimal digits, or returns -1 if any of them is not a digit.
+     */
+    private static int digits(CharAccess text, int from, int count) {
+        int value = 0;
+
+        for (int i = from; i < from + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+
+        return value;
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder out, int value) {
+        return out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static DateTimeParseException invalid(CharAccess text, int length) {
+        StringBuilder shown = new StringBuilder(Math.max(0, length));
+        for (int i = 0; i < length; i++) {
+            shown.append((char) text.charAt(i));
+        }
+
+        return new DateTimeParseException("Text '" + shown + "' is not a valid yyyy-MM-dd HH:mm date", shown, 0);
+    }
+
+    /**
+     * Reads the characters of a text by index from its start, whether it is held in a
+     * <code>CharSequence</code>, a byte array or a buffer.
+     */
+    @FunctionalInterface
+    private interface CharAccess {
+        int charAt(int index);
+    }
+}
@@ -1,6 +1,7 @@
 package katsu.util;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -27,9 +28,30 @@ public class DateUtils {
      *
      * @param dateTimeString The date in "yyyy-MM-dd HH:mm" format.
      * @return <code>LocalDateTime</code> representing the input string.
+     * @see DateTimeCodec#parseMinutes(CharSequence)
      */
     public static LocalDateTime convertStringToDateTime(String dateTimeString) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        return LocalDateTime.parse(dateTimeString, formatter);
+        return fromEpochMinutes(DateTimeCodec.parseMinutes(dateTimeString));
+    }
+
+    /**
+     * Converts a <code>LocalDateTime</code> into the number of minutes since 1970-01-01 00:00.
+     * Seconds and smaller units are dropped, matching the minute precision of the save file.
+     *
+     * @param date the LocalDateTime object to convert
+     * @return the number of whole minutes since the epoch
+     */
+    public static long toEpochMinutes(LocalDateTime date) {
+        return Math.floorDiv(date.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Converts a number of minutes since 1970-01-01 00:00 back into a <code>LocalDateTime</code>.
+     *
+     * @param epochMinutes the number of whole minutes since the epoch
+     * @return <code>LocalDateTime</code> representing the given minute
+     */
+    public static LocalDateTime fromEpochMinutes(long epochMinutes) {
+        return LocalDateTime.ofEpochSecond(epochMinutes * 60, 0, ZoneOffset.UTC);
     }
 }
@@ -0,0 +1,109 @@
+package katsu.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CommandTest {
+
+    /**
+     * Searches for a word from a given index, or from index 1 if the index is -1, returning where it is
+     * found or -1. This is the linear search commands used before <code>Command.indexOf</code>, kept as
+     * the reference that the flag lookups are checked against.
+     */
+    private static int findWord(String[] words, String word, int startFrom) {
+        int index = (startFrom == -1) ? 1 : startFrom;
+
+        for (int i = index; i < words.length; i++) {
+            if (words[i].equals(word)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Test
+    public void findWord_startIndices_searchesFromThere() {
+        String[] words = {"Deadline", "eat", "apple", "/by", "2025-12-01", "14:35"};
+
+        assertEquals(3, findWord(words, "/by", 0));
+        assertEquals(3, findWord(words, "/by", -1));
+        assertEquals(-1, findWord(words, "/by", 4));
+        assertEquals(-1, findWord(words, "/by", 6));
+    }
+
+    @Test
+    public void parse_extraWhitespace_collapsesToSingleSpaces() {
+        Command command = Command.parse("  deadline \t eat   apple\n/by 2025-12-01  14:35 ");
+
+        assertEquals("deadline eat apple /by 2025-12-01 14:35", command.getInput());
+        assertEquals("deadline", command.getName());
+        assertEquals(6, command.size());
+        assertEquals("eat apple", command.getText(1, 3));
+        assertEquals("2025-12-01 14:35", command.getTextFrom(4));
+        assertEquals("", command.getTextFrom(6));
+        assertArrayEquals(new String[] {"2025-12-01", "14:35"}, command.getWordsFrom(4));
+    }
+
+    @Test
+    public void parse_normalInput_keepsInput() {
+        String input = "todo read book";
+        assertSame(input, Command.parse(input).getInput());
+    }
+
+    @Test
+    public void parse_blankInput_hasNoWords() {
+        Command command = Command.parse(" \t ");
+
+        assertEquals("", command.getInput());
+        assertEquals("", command.getName());
+        assertEquals(0, command.size());
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> command.get(0));
+    }
+
+    @Test
+    public void indexOf_flags_matchesFindWord() {
+        Command deadline = Command.parse("deadline return /by book /by 2025-12-01 14:35");
+        assertEquals(2, deadline.indexOf(Command.Flag.BY));
+        assertEquals(-1, deadline.indexOf(Command.Flag.FROM));
+
+        Command event = Command.parse("event fair /to x /from 2025-12-01 10:00 /to 2025-12-01 12:00 /from y");
+        assertEquals(4, event.indexOf(Command.Flag.FROM));
+        assertEquals(7, event.indexOf(Command.Flag.TO));
+
+        assertEquals(-1, Command.parse("/by deadline").indexOf(Command.Flag.BY));
+        assertEquals(-1, Command.parse("deadline /byx").indexOf(Command.Flag.BY));
+    }
+
+    @Test
+    public void parse_randomInput_matchesRegexSplit() {
+        Random random = new Random(25);
+        String[] pieces = {"a", "bc", "/by", "/from", "/to", " ", "  ", "\t", "\n", "é"};
+
+        for (int n = 0; n < 10_000; n++) {
+            StringBuilder input = new StringBuilder();
+            for (int i = random.nextInt(12); i >= 0; i--) {
+                input.append(pieces[random.nextInt(pieces.length)]);
+            }
+
+            String normal = input.toString().trim().replaceAll("\\s+", " ");
+            String[] words = normal.isEmpty() ? new String[0] : normal.split(" ");
+            Command command = Command.parse(input.toString());
+
+            assertEquals(normal, command.getInput());
+            assertArrayEquals(words, command.getWordsFrom(0));
+            assertEquals(findWord(words, "/by", -1), command.indexOf(Command.Flag.BY));
+            int from = findWord(words, "/from", -1);
+            assertEquals(from, command.indexOf(Command.Flag.FROM));
+            if (from != -1) {
+                assertEquals(findWord(words, "/to", from + 1), command.indexOf(Command.Flag.TO));
+            }
+        }
+    }
+}
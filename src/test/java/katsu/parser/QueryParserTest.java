@@ -0,0 +1,76 @@
+package katsu.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import katsu.tasks.CustomList;
+import katsu.tasks.Deadline;
+import katsu.tasks.Event;
+import katsu.tasks.ToDo;
+
+public class QueryParserTest {
+
+    private final ToDo book = new ToDo("read book");
+    private final Deadline returnBook = new Deadline("return book", LocalDateTime.of(2026, 11, 30, 23, 59));
+    private final Deadline labReport = new Deadline("submit lab report", LocalDateTime.of(2026, 12, 1, 9, 0));
+    private final Event bookFair = new Event("book fair", LocalDateTime.of(2026, 12, 5, 10, 0),
+            LocalDateTime.of(2026, 12, 6, 18, 0));
+
+    private CustomList sampleList() {
+        CustomList list = new CustomList();
+        list.add(book, true);
+        list.add(returnBook, true);
+        list.add(labReport, true);
+        list.add(bookFair, true);
+        list.markCompleted("1", "");
+        return list;
+    }
+
+    @Test
+    public void parse_notBindsTighterThanAndThanOr() {
+        CustomList list = sampleList();
+
+        assertEquals("Quack! Here are the tasks matching your query:\n"
+                + "1. " + returnBook.printTask() + "\n"
+                + "2. " + bookFair.printTask(),
+                list.findMatching(QueryParser.parse("type:E OR book NOT done:true AND NOT type:T")));
+    }
+
+    @Test
+    public void parse_dateFilters_excludeTheGivenDay() {
+        CustomList list = sampleList();
+
+        assertEquals("Quack! Here are the tasks matching your query:\n"
+                + "1. " + returnBook.printTask(),
+                list.findMatching(QueryParser.parse("before:2026-12-01")));
+        assertEquals("Quack! Here are the tasks matching your query:\n"
+                + "1. " + bookFair.printTask(),
+                list.findMatching(QueryParser.parse("after:2026-12-01")));
+    }
+
+    @Test
+    public void parse_quotedPhraseAndBrackets() {
+        CustomList list = sampleList();
+
+        assertEquals("Quack! Here are the tasks matching your query:\n"
+                + "1. " + book.printTask() + "\n"
+                + "2. " + labReport.printTask(),
+                list.findMatching(QueryParser.parse("(\"lab report\" OR done:true) NOT type:E")));
+        assertEquals("Quack! No task matches your query.",
+                list.findMatching(QueryParser.parse("\"book report\"")));
+    }
+
+    @Test
+    public void parse_malformedQuery_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("(book OR fair"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("book AND"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("\"lab report"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("type:X"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("before:01-12-2026"));
+    }
+}
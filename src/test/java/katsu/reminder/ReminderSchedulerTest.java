@@ -0,0 +1,150 @@
+package katsu.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import katsu.tasks.CustomList;
+import katsu.tasks.Deadline;
+import katsu.tasks.Event;
+import katsu.tasks.ToDo;
+
+public class ReminderSchedulerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 12, 1, 9, 0);
+
+    private final TestClock clock = new TestClock();
+    private final List<String> sent = new ArrayList<>();
+    private final CustomList tasks = new CustomList();
+    private final ReminderScheduler reminders = new ReminderScheduler(this.tasks, this.sent::add, this.clock);
+
+    @AfterEach
+    public void tearDown() {
+        this.reminders.shutdown();
+    }
+
+    @Test
+    public void fireDue_onlySendsRemindersThatAreDue() {
+        Deadline report = new Deadline("report", NOW.plusHours(2));
+        this.tasks.addObserver(this.reminders);
+        this.tasks.add(report, true);
+        this.tasks.add(new ToDo("whenever"), true);
+        this.tasks.add(new Deadline("overdue", NOW.minusHours(1)), true);
+
+        assertEquals(2, this.reminders.pendingCount());
+
+        this.clock.advance(Duration.ofMinutes(59));
+        this.reminders.fireDue();
+        assertEquals(List.of(), this.sent);
+
+        this.clock.advance(Duration.ofMinutes(1));
+        this.reminders.fireDue();
+        assertEquals(List.of("⏰ Quack! This deadline is due in 1 hour:\n" + report.printTask()), this.sent);
+
+        this.clock.advance(Duration.ofHours(1));
+        this.reminders.fireDue();
+        assertEquals("⏰ Quack! This deadline is due now:\n" + report.printTask(), this.sent.get(1));
+        assertEquals(0, this.reminders.pendingCount());
+    }
+
+    @Test
+    public void markAndDelete_rescheduleReminders() {
+        this.tasks.addObserver(this.reminders);
+        this.tasks.add(new Deadline("report", NOW.plusDays(2)), true);
+        this.tasks.add(new Event("camp", NOW.plusDays(3), NOW.plusDays(4)), true);
+        assertEquals(6, this.reminders.pendingCount());
+
+        this.tasks.markCompleted("1", "");
+        assertEquals(3, this.reminders.pendingCount());
+        this.tasks.markUncompleted("1", "");
+        assertEquals(6, this.reminders.pendingCount());
+        this.tasks.deleteTask("1");
+        assertEquals(3, this.reminders.pendingCount());
+
+        this.clock.advance(Duration.ofDays(2));
+        this.reminders.fireDue();
+        assertEquals(List.of("⏰ Quack! This event starts in 1 day:\n" + this.tasks.get(0).printTask()), this.sent);
+    }
+
+    @Test
+    public void markAndDeleteRepeatedly_staleRemindersPurged() {
+        this.tasks.addObserver(this.reminders);
+        for (int i = 0; i < 100; i++) {
+            this.tasks.add(new Deadline("deadline " + i, NOW.plusDays(2)), true);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            this.tasks.markCompleted("1", "");
+            this.tasks.markUncompleted("1", "");
+        }
+        assertEquals(300, this.reminders.pendingCount());
+        assertTrue(this.reminders.queuedCount() <= 2 * 300);
+
+        this.tasks.deleteAll("1-90");
+        assertEquals(30, this.reminders.pendingCount());
+        assertTrue(this.reminders.queuedCount() <= 64);
+    }
+
+    @Test
+    public void setLeadTimes_manyTasks_rescheduledWithOneThread() {
+        for (int i = 0; i < 100_000; i++) {
+            this.tasks.add(new Deadline("deadline " + i, NOW.plusDays(2).plusMinutes(i)), true);
+        }
+        this.tasks.addObserver(this.reminders);
+        this.reminders.scheduleAll();
+        assertEquals(300_000, this.reminders.pendingCount());
+
+        this.reminders.setLeadTimes(List.of(Duration.ofMinutes(5)));
+        assertEquals(100_000, this.reminders.pendingCount());
+
+        this.clock.advance(Duration.ofDays(2).plusMinutes(10));
+        this.reminders.fireDue();
+        assertEquals(16, this.sent.size());
+        assertEquals("⏰ Quack! This deadline is due in 5 minutes:\n" + this.tasks.get(10).printTask(),
+                this.sent.get(10));
+    }
+
+    @Test
+    public void describe_leadTimes() {
+        assertEquals("on time", ReminderScheduler.describe(Duration.ZERO));
+        assertEquals("1 day before", ReminderScheduler.describe(Duration.ofDays(1)));
+        assertEquals("2 hours before", ReminderScheduler.describe(Duration.ofHours(2)));
+        assertEquals("90 minutes before", ReminderScheduler.describe(Duration.ofMinutes(90)));
+    }
+
+    /**
+     * A clock that only moves when told to.
+     */
+    private static class TestClock extends Clock {
+        private Instant instant = NOW.toInstant(ZoneOffset.UTC);
+
+        void advance(Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package katsu.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import katsu.tasks.CustomList;
+import katsu.tasks.Deadline;
+import katsu.tasks.Event;
+import katsu.tasks.Task;
+import katsu.tasks.ToDo;
+
+public class BinaryFormatTest {
+
+    @Test
+    public void encode_thenDecode_sameTasks() throws IOException {
+        CustomList tasks = new CustomList();
+        tasks.add(new ToDo("read book ꒰ঌ( •ө• )໒꒱"), true);
+        tasks.add(new Deadline("submit paper", LocalDateTime.of(2025, 10, 12, 14, 35)), true);
+        tasks.add(new Event("party", LocalDateTime.of(1969, 12, 5, 10, 0),
+                LocalDateTime.of(2025, 12, 6, 12, 0)), true);
+        tasks.markCompleted("2", "");
+
+        List<Task> decoded = BinaryFormat.decode(BinaryFormat.encode(tasks));
+
+        assertEquals(3, decoded.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(tasks.formatSave(i), decoded.get(i).formatSave());
+        }
+    }
+
+    @Test
+    public void encode_thenDecode_keepsIds() throws IOException {
+        CustomList tasks = new CustomList();
+        tasks.add(new ToDo("read book"), true);
+        tasks.add(new ToDo("return book"), true);
+        tasks.deleteTask("1");
+
+        List<Task> decoded = BinaryFormat.decode(BinaryFormat.encode(tasks));
+
+        assertEquals(2, decoded.get(0).getId());
+    }
+
+    @Test
+    public void decode_versionWithoutIds_tasksWithoutIds() throws IOException {
+        byte[] bytes = {'K', 'A', 'T', 'S', 1, 1, 0 << 1 | 1, 4, 'r', 'e', 'a', 'd'};
+
+        List<Task> decoded = BinaryFormat.decode(bytes);
+
+        assertEquals("T | 1 | read", decoded.get(0).formatSave());
+        assertEquals(0, decoded.get(0).getId());
+    }
+
+    @Test
+    public void encode_smallerThanText() {
+        CustomList tasks = new CustomList();
+        tasks.add(new Event("party", LocalDateTime.of(2025, 12, 5, 10, 0),
+                LocalDateTime.of(2025, 12, 6, 12, 0)), true);
+
+        assertTrue(BinaryFormat.encode(tasks).length < tasks.formatSave(0).length());
+    }
+
+    @Test
+    public void decode_unknownVersion_throws() {
+        byte[] bytes = BinaryFormat.encode(new CustomList());
+        bytes[4] = (byte) (BinaryFormat.VERSION + 1);
+
+        assertThrows(IOException.class, () -> BinaryFormat.decode(bytes));
+    }
+
+    @Test
+    public void decode_truncated_throws() {
+        CustomList tasks = new CustomList();
+        tasks.add(new ToDo("read book"), true);
+        byte[] bytes = BinaryFormat.encode(tasks);
+
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> BinaryFormat.decode(Arrays.copyOf(bytes, bytes.length - 2)));
+    }
+}
@@ -0,0 +1,87 @@
+package katsu.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import katsu.tasks.Task;
+
+public class ChunkedLoaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_manyChunks_keepsFileOrder() throws IOException {
+        Path save = this.tempDir.resolve("save.txt");
+        StringBuilder content = new StringBuilder();
+        int count = 40_000;
+
+        for (int i = 0; i < count; i++) {
+            switch (i % 3) {
+            case 0:
+                content.append("T | ").append(i % 2).append(" | todo ").append(i).append("\n");
+                break;
+            case 1:
+                content.append("D | ").append(i % 2).append(" | deadline ").append(i)
+                        .append(" | 2025-10-12 14:35\n");
+                break;
+            default:
+                content.append("E | ").append(i % 2).append(" | event ").append(i)
+                        .append(" | 2025-12-05 10:00 | 2025-12-06 12:00\n");
+                break;
+            }
+        }
+        Files.writeString(save, content);
+
+        List<Task> tasks = new ChunkedLoader(new ForkJoinPool(4)).load(save);
+
+        assertEquals(count, tasks.size());
+        for (int i = 0; i < count; i++) {
+            assertTrue(tasks.get(i).toString().endsWith(" " + i));
+            assertEquals(i % 2 == 1, tasks.get(i).isComplete());
+        }
+        assertEquals("E | 1 | event 5 | 2025-12-05 10:00 | 2025-12-06 12:00", tasks.get(5).formatSave());
+    }
+
+    @Test
+    public void load_irregularSpacing_sameAsRegexSplit() throws IOException {
+        Path save = this.tempDir.resolve("save.txt");
+        Files.writeString(save, "T|1|read book\r\n\nD  |0|   submit  paper |2025-10-12 14:35");
+
+        List<Task> tasks = new ChunkedLoader().load(save);
+
+        assertEquals(2, tasks.size());
+        assertEquals("T | 1 | read book", tasks.get(0).formatSave());
+        assertEquals("D | 0 | submit  paper | 2025-10-12 14:35", tasks.get(1).formatSave());
+    }
+
+    @Test
+    public void load_missingFields_throws() throws IOException {
+        Path save = this.tempDir.resolve("save.txt");
+        Files.writeString(save, "D | 0 | submit paper\n");
+
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> new ChunkedLoader().load(save));
+    }
+
+    @Test
+    public void load_badIdOrDate_throwsIoExceptionNamingLine() throws IOException {
+        Path save = this.tempDir.resolve("save.txt");
+
+        Files.writeString(save, "1 | T | 0 | read book\n99999999999 | T | 0 | return book\n");
+        IOException badId = assertThrows(IOException.class, () -> new ChunkedLoader().load(save));
+        assertEquals("Malformed task in save file: 99999999999 | T | 0 | return book", badId.getMessage());
+
+        Files.writeString(save, "2 | D | 0 | submit paper | 2025-02-30 10:00\n");
+        IOException badDate = assertThrows(IOException.class, () -> new ChunkedLoader().load(save));
+        assertEquals("Malformed task in save file: 2 | D | 0 | submit paper | 2025-02-30 10:00", badDate.getMessage());
+    }
+}
@@ -0,0 +1,148 @@
+package katsu.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import katsu.tasks.CustomList;
+import katsu.tasks.ToDo;
+import katsu.tasks.UndoHistory;
+
+public class JournalTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void append_withAutoSaver_burstWrittenInBackground() throws IOException, InterruptedException {
+        Path path = this.tempDir.resolve("save.log");
+        Journal journal = new Journal(path, 20);
+        journal.open();
+        CustomList tasks = new CustomList();
+        tasks.addObserver(journal);
+
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new ToDo("task " + i), true);
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.readAllLines(path).size() < 100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        journal.close();
+
+        assertEquals(100, Files.readAllLines(path).size());
+        assertEquals("ADD | 100 | T | 0 | task 99", Files.readAllLines(path).get(99));
+    }
+
+    @Test
+    public void reset_discardsBufferedRecords() throws IOException {
+        Path path = this.tempDir.resolve("save.log");
+        Journal journal = new Journal(path, 60_000);
+        journal.open();
+        journal.onAdd(new ToDo("read book"));
+
+        journal.reset();
+        journal.close();
+
+        assertEquals(0, Files.size(path));
+        assertEquals(0, journal.size());
+    }
+
+    @Test
+    public void replay_tornLastRecord_ignored() throws IOException {
+        Path path = this.tempDir.resolve("save.log");
+        Files.writeString(path, "ADD | T | 0 | read book\nADD | T | 1 | return book\nMAR");
+        CustomList tasks = new CustomList();
+
+        assertEquals(2, Journal.replay(path, tasks));
+        assertEquals(2, tasks.size());
+        assertFalse(tasks.isEmpty());
+    }
+
+    @Test
+    public void replay_tornRecordWithoutNewline_ignored() throws IOException {
+        Path path = this.tempDir.resolve("save.log");
+        Files.writeString(path, "ADD | T | 0 | read book\nADD | T | 0 | thr");
+        CustomList tasks = new CustomList();
+
+        assertEquals(1, Journal.replay(path, tasks));
+        assertEquals("T | 0 | read book", tasks.formatSave(0));
+    }
+
+    @Test
+    public void open_tornRecord_cutOffBeforeAppending() throws IOException {
+        Path path = this.tempDir.resolve("save.log");
+        Files.writeString(path, "ADD | T | 0 | read book\nADD | T | 0 | thr");
+        Journal journal = new Journal(path);
+        journal.open();
+        journal.onAdd(new ToDo("four"));
+        journal.close();
+
+        CustomList tasks = new CustomList();
+        assertEquals(2, Journal.replay(path, tasks));
+        assertEquals("T | 0 | read book", tasks.formatSave(0));
+        assertEquals("T | 0 | four", tasks.formatSave(1));
+    }
+
+    @Test
+    public void replayStrictly_badRecord_throwsException() throws IOException {
+        Path path = this.tempDir.resolve("save.log");
+        Files.writeString(path, "ADD | T | 0 | read book\nMARK | x\nADD | T | 0 | four\n");
+
+        assertThrows(IOException.class, () -> Journal.replayStrictly(path, new CustomList()));
+        assertEquals(1, Journal.replay(path, new CustomList()));
+    }
+
+    @Test
+    public void batchDelete_replaysToSameList() throws IOException {
+        Path path = this.tempDir.resolve("save.log");
+        Journal journal = new Journal(path);
+        journal.open();
+        CustomList tasks = new CustomList();
+        tasks.addObserver(journal);
+
+        for (int i = 0; i < 20; i++) {
+            tasks.add(new ToDo("task " + i), true);
+        }
+        tasks.deleteAll("2-5,9,12-19");
+        tasks.markAll("1-3", true, "");
+        journal.close();
+
+        CustomList replayed = new CustomList();
+        Journal.replay(path, replayed);
+
+        assertEquals(tasks.printList(), replayed.printList());
+    }
+
+    @Test
+    public void undoneDelete_replaysAsInsert() throws IOException {
+        Path path = this.tempDir.resolve("save.log");
+        Journal journal = new Journal(path);
+        journal.open();
+        CustomList tasks = new CustomList();
+        tasks.addObserver(journal);
+        UndoHistory history = new UndoHistory(tasks);
+        tasks.addObserver(history);
+
+        for (int i = 0; i < 5; i++) {
+            tasks.add(new ToDo("task " + i), true);
+        }
+        tasks.deleteAll("2,4");
+        history.undo();
+        tasks.markCompleted("4", "");
+        journal.close();
+
+        CustomList replayed = new CustomList();
+        Journal.replay(path, replayed);
+
+        assertEquals("INSERT | 1 | 2 | T | 0 | task 1", Files.readAllLines(path).get(7));
+        assertEquals(tasks.printList(), replayed.printList());
+    }
+}
@@ -0,0 +1,214 @@
+package katsu.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import katsu.tasks.CustomList;
+import katsu.tasks.Deadline;
+import katsu.tasks.ToDo;
+
+public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void loadSave_noFiles_throwsFileNotFound() {
+        Storage storage = new Storage(this.tempDir.resolve("save.txt").toString());
+        assertThrows(FileNotFoundException.class, storage::loadSave);
+    }
+
+    @Test
+    public void save_thenLoad_sameTasks() throws IOException {
+        String path = this.tempDir.resolve("save.txt").toString();
+        CustomList tasks = new CustomList();
+        tasks.add(new ToDo("read book"), true);
+        tasks.add(new Deadline("submit paper", LocalDateTime.of(2025, 10, 12, 14, 35)), true);
+        tasks.markCompleted("2", "");
+
+        new Storage(path).save(tasks);
+        CustomList loaded = new Storage(path).loadSave();
+
+        assertEquals(2, loaded.size());
+        assertEquals("T | 0 | read book", loaded.formatSave(0));
+        assertEquals("D | 1 | submit paper | 2025-10-12 14:35", loaded.formatSave(1));
+    }
+
+    @Test
+    public void loadSave_unsavedChanges_replayedFromJournal() throws IOException {
+        String path = this.tempDir.resolve("save.txt").toString();
+        CustomList tasks = new CustomList();
+        tasks.add(new ToDo("read book"), true);
+        Storage storage = new Storage(path);
+        storage.save(tasks);
+
+        storage.startJournal(tasks);
+        tasks.add(new ToDo("return book"), true);
+        tasks.add(new ToDo("buy milk"), true);
+        tasks.markCompleted("3", "");
+        tasks.deleteTask("1");
+        storage.close(); // simulate a crash: no save before exiting
+
+        CustomList loaded = new Storage(path).loadSave();
+
+        assertEquals(2, loaded.size());
+        assertEquals("T | 0 | return book", loaded.formatSave(0));
+        assertEquals("T | 1 | buy milk", loaded.formatSave(1));
+    }
+
+    @Test
+    public void loadSave_savedAndJournaledTasks_keepIds() throws IOException {
+        String path = this.tempDir.resolve("save.txt").toString();
+        CustomList tasks = new CustomList();
+        tasks.add(new ToDo("read book"), true);
+        tasks.add(new ToDo("return book"), true);
+        Storage storage = new Storage(path);
+        storage.save(tasks);
+
+        storage.startJournal(tasks);
+        tasks.deleteTask("1");
+        tasks.add(new ToDo("buy milk"), true);
+        storage.close();
+
+        CustomList loaded = new Storage(path).loadSave();
+        assertEquals(2, loaded.get(0).getId());
+        assertEquals(3, loaded.get(1).getId());
+
+        new Storage(path).save(loaded);
+        CustomList reloaded = new Storage(path).loadSave();
+        reloaded.add(new ToDo("water plants"), true);
+        assertEquals(2, reloaded.get(0).getId());
+        assertEquals(3, reloaded.get(1).getId());
+        assertEquals(4, reloaded.get(2).getId());
+    }
+
+    @Test
+    public void loadSave_linesWithoutIds_givenNewIds() throws IOException {
+        Path save = this.tempDir.resolve("save.txt");
+        Files.writeString(save, "T | 0 | read book\nD | 1 | submit paper | 2025-10-12 14:35\n");
+
+        CustomList loaded = new Storage(save.toString()).loadSave();
+
+        assertEquals(1, loaded.get(0).getId());
+        assertEquals(2, loaded.get(1).getId());
+        assertEquals("D | 1 | submit paper | 2025-10-12 14:35", loaded.formatSave(1));
+    }
+
+    @Test
+    public void save_clearsJournal() throws IOException {
+        String path = this.tempDir.resolve("save.txt").toString();
+        CustomList tasks = new CustomList();
+        Storage storage = new Storage(path);
+        storage.startJournal(tasks);
+        tasks.add(new ToDo("read book"), true);
+
+        storage.save(tasks);
+        storage.close();
+
+        assertEquals(0, Files.size(this.tempDir.resolve("save.log")));
+        assertEquals(1, new Storage(path).loadSave().size());
+    }
+
+    @Test
+    public void loadSave_interruptedSave_completedFromTempFile() throws IOException {
+        String path = this.tempDir.resolve("save.txt").toString();
+        Files.writeString(this.tempDir.resolve("save.txt"), "T | 0 | old\n");
+        Files.writeString(this.tempDir.resolve("save.log"), "ADD | T | 0 | already folded\n");
+        Files.writeString(this.tempDir.resolve("save.tmp"), "T | 0 | old\nT | 0 | already folded\n");
+        Files.writeString(this.tempDir.resolve("save.commit"), "save.log");
+
+        CustomList loaded = new Storage(path).loadSave();
+
+        assertEquals(2, loaded.size());
+        assertFalse(Files.exists(this.tempDir.resolve("save.commit")));
+    }
+
+    @Test
+    public void compact_journalFoldedIntoSaveFile() throws IOException {
+        String path = this.tempDir.resolve("save.txt").toString();
+        CustomList tasks = new CustomList();
+        Storage storage = new Storage(path);
+        Compactor compactor = new Compactor(storage, 0, 0, 0);
+        storage.startJournal(tasks, compactor);
+
+        for (int i = 1; i <= 50; i++) {
+            tasks.add(new ToDo("task " + i), true);
+        }
+        tasks.deleteTask("1");
+        compactor.awaitIdle();
+        compactor.compact(); // fold whatever was journaled while the last compaction ran
+        compactor.awaitIdle();
+        storage.close();
+
+        assertTrue(compactor.getCompactionCount() > 0);
+        assertFalse(Files.exists(this.tempDir.resolve("save.log.old")));
+        assertEquals(0, Files.size(this.tempDir.resolve("save.log")));
+        CustomList loaded = new Storage(path).loadSave();
+        assertEquals(49, loaded.size());
+        assertEquals("T | 0 | task 2", loaded.formatSave(0));
+    }
+
+    @Test
+    public void compact_badFrozenRecord_keepsFrozenJournal() throws IOException {
+        String path = this.tempDir.resolve("save.txt").toString();
+        Path frozen = this.tempDir.resolve("save.log.old");
+        Files.writeString(frozen, "ADD | T | 0 | read book\nMARK | x\nADD | T | 0 | four\n");
+        CustomList tasks = new CustomList();
+        Storage storage = new Storage(path);
+        Compactor compactor = new Compactor(storage);
+        storage.startJournal(tasks, compactor);
+        compactor.awaitIdle();
+        storage.close();
+
+        assertEquals(0, compactor.getCompactionCount());
+        assertTrue(Files.exists(frozen));
+        assertEquals(3, Files.readAllLines(frozen).size());
+    }
+
+    @Test
+    public void convert_textToBinaryAndBack_detectedOnLoad() throws IOException {
+        String path = this.tempDir.resolve("save.txt").toString();
+        CustomList tasks = new CustomList();
+        tasks.add(new ToDo("read book"), true);
+        tasks.add(new Deadline("submit paper", LocalDateTime.of(2025, 10, 12, 14, 35)), true);
+        new Storage(path).save(tasks);
+
+        Storage storage = new Storage(path);
+        storage.convert(SaveFormat.BINARY, storage.loadSave());
+        assertTrue(BinaryFormat.isBinary(this.tempDir.resolve("save.txt")));
+
+        Storage reloaded = new Storage(path);
+        CustomList loaded = reloaded.loadSave();
+        assertEquals(SaveFormat.BINARY, reloaded.getFormat());
+        assertEquals("D | 0 | submit paper | 2025-10-12 14:35", loaded.formatSave(1));
+
+        reloaded.convert(SaveFormat.TEXT, loaded);
+        assertEquals("1 | T | 0 | read book\n2 | D | 0 | submit paper | 2025-10-12 14:35\n",
+                Files.readString(this.tempDir.resolve("save.txt")));
+    }
+
+    @Test
+    public void readSnapshot_otherFormat_keepsSaveFormatUntilLoad() throws IOException {
+        String path = this.tempDir.resolve("save.txt").toString();
+        CustomList tasks = new CustomList();
+        tasks.add(new ToDo("read book"), true);
+        new Storage(path).convert(SaveFormat.BINARY, tasks);
+
+        Storage storage = new Storage(path);
+        assertEquals(1, storage.readSnapshot().size());
+        assertEquals(SaveFormat.TEXT, storage.getFormat());
+
+        storage.loadSave();
+        assertEquals(SaveFormat.BINARY, storage.getFormat());
+    }
+}
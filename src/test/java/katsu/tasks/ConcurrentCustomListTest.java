@@ -0,0 +1,165 @@
+package katsu.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentCustomListTest {
+    private static final long RUN_MILLIS = 300;
+
+    @Test
+    public void observer_canQueryWhileNotified() {
+        ConcurrentCustomList list = new ConcurrentCustomList();
+        List<String> seen = new ArrayList<>();
+        list.addObserver(new ListObserver() {
+            @Override
+            public void onAdd(Task task) {
+                seen.add(list.size() + " " + list.printList());
+            }
+
+            @Override
+            public void onInsert(int index, Task task) {
+            }
+
+            @Override
+            public void onMark(int index, boolean isComplete) {
+                seen.add(list.get(index).printTask());
+            }
+
+            @Override
+            public void onDelete(int index, Task task) {
+            }
+        });
+
+        list.add(new ToDo("read book"), true);
+        list.markCompleted("1", "");
+
+        assertEquals(List.of("1 1. [T][ ] read book", "[T][X] read book"), seen);
+    }
+
+    @Test
+    public void printList_afterChange_isNotStale() {
+        ConcurrentCustomList list = new ConcurrentCustomList();
+        list.add(new ToDo("read book"), true);
+        assertEquals("1. [T][ ] read book", list.printList());
+        assertEquals("1. [T][ ] read book", list.printList());
+
+        list.markCompleted("1", "");
+        assertEquals("1. [T][X] read book", list.printList());
+        assertEquals("Quack! Here are the matching tasks in your list:\n1. [T][X] read book",
+                list.findKeyword("book"));
+    }
+
+    @Test
+    public void streamList_changedAfterCall_showsListAsCalled() {
+        ConcurrentCustomList list = new ConcurrentCustomList();
+        list.add(new ToDo("read book"), true);
+        list.add(new ToDo("return book"), true);
+
+        Stream<String> chunks = list.streamList(1);
+        list.markCompleted("1", "");
+        list.deleteTask("2");
+
+        assertEquals(List.of("1. [T][ ] read book", "2. [T][ ] return book"), chunks.collect(Collectors.toList()));
+    }
+
+    @Test
+    public void stress_moreReaders_readMoreInTotal() throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int readers = Math.max(2, Math.min(8, cores));
+
+        Result single = this.run(1);
+        Result shared = this.run(readers);
+        double speedup = (double) shared.reads / single.reads;
+        System.out.printf("1 reader: %d reads, %d readers: %d reads, speedup %.2f on %d cores%n",
+                single.reads, readers, shared.reads, speedup, cores);
+
+        assertTrue(single.writes > 0 && shared.writes > 0, "the writer was starved");
+        assertTrue(single.reads > 0, "the reader was starved");
+        // Readers share the lock, so they should scale with the cores, give or take a busy machine
+        double expected = Math.min(readers, cores) / 2.0;
+        assertTrue(speedup >= expected, "readers got a speedup of " + speedup + ", expected " + expected);
+    }
+
+    /**
+     * Runs readers against one writer that keeps adding and deleting tasks, checking that every
+     * listing a reader sees is whole.
+     */
+    private Result run(int readers) throws InterruptedException {
+        ConcurrentCustomList list = new ConcurrentCustomList();
+        for (int i = 0; i < 1000; i++) {
+            list.add(new ToDo("task " + i), true);
+        }
+
+        AtomicBoolean isRunning = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int r = 0; r < readers; r++) {
+            int reader = r;
+            threads.add(new Thread(() -> {
+                try {
+                    while (isRunning.get()) {
+                        String listing = (reader % 2 == 0) ? list.printList() : list.findKeyword("task 1");
+                        if (!listing.startsWith("1. ") && !listing.startsWith("Quack!")) {
+                            throw new AssertionError("Torn listing: " + listing.substring(0, 20));
+                        }
+                        reads.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            }));
+        }
+
+        threads.add(new Thread(() -> {
+            try {
+                int i = 0;
+                while (isRunning.get()) {
+                    list.add(new ToDo("added " + i++), true);
+                    list.deleteTask("1");
+                    writes.incrementAndGet();
+                    // Leave the readers stretches of unchanged list, as a real user would
+                    Thread.sleep(1);
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }));
+
+        threads.forEach(Thread::start);
+        Thread.sleep(RUN_MILLIS);
+        isRunning.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertEquals(1000, list.size());
+
+        return new Result(reads.get(), writes.get());
+    }
+
+    private static class Result {
+        private final long reads;
+        private final long writes;
+
+        Result(long reads, long writes) {
+            this.reads = reads;
+            this.writes = writes;
+        }
+    }
+}
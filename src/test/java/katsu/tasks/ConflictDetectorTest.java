@@ -0,0 +1,76 @@
+package katsu.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class ConflictDetectorTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    public void isClash_backToBackEvents_false() {
+        Event first = new Event("first", BASE, BASE.plusHours(1));
+        Event second = new Event("second", BASE.plusHours(1), BASE.plusHours(2));
+        Event third = new Event("third", BASE.plusMinutes(59), BASE.plusHours(3));
+
+        assertFalse(ConflictDetector.isClash(first, second));
+        assertTrue(ConflictDetector.isClash(first, third));
+        assertTrue(ConflictDetector.isClash(third, second));
+        assertFalse(ConflictDetector.isClash(first, new Deadline("due", BASE.plusMinutes(30))));
+    }
+
+    @Test
+    public void sweep_backToBackEvents_noClash() {
+        Event first = new Event("first", BASE, BASE.plusHours(1));
+        Event second = new Event("second", BASE.plusHours(1), BASE.plusHours(2));
+
+        assertEquals(List.of(), ConflictDetector.sweep(List.of(first, second)));
+    }
+
+    @Test
+    public void sweep_randomEvents_sameAsComparingEveryPair() {
+        Random random = new Random(13);
+        CustomList list = new CustomList();
+
+        for (int i = 0; i < 1500; i++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(200_000));
+            list.add(random.nextInt(5) == 0
+                    ? new Deadline("deadline " + i, start)
+                    : new Event("event " + i, start, start.plusMinutes(1 + random.nextInt(600))), true);
+        }
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < list.size(); i++) {
+            for (int j = i + 1; j < list.size(); j++) {
+                if (ConflictDetector.isClash(list.get(i), list.get(j))) {
+                    expected.add(i + " " + j);
+                }
+            }
+        }
+
+        List<Task> byStart = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            byStart.add(list.get(i));
+        }
+        byStart.sort((a, b) -> Long.compare(IntervalTree.startOf(a), IntervalTree.startOf(b)));
+
+        Set<String> actual = new HashSet<>();
+        for (Task[] clash : ConflictDetector.sweep(byStart)) {
+            long a = Math.min(clash[0].getListOrder(), clash[1].getListOrder());
+            long b = Math.max(clash[0].getListOrder(), clash[1].getListOrder());
+            assertTrue(actual.add(a + " " + b));
+        }
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+}
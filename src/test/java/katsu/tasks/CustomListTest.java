@@ -3,10 +3,20 @@ package katsu.tasks;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
 import org.junit.jupiter.api.Test;
 
+import katsu.response.ErrorResponse;
+
 public class CustomListTest {
 
     @Test
@@ -45,4 +55,487 @@ public class CustomListTest {
         assertDoesNotThrow(() -> list.deleteTask("1"));
         assertEquals(0, list.size());
     }
+
+    @Test
+    public void findKeyword_severalWords_matchesInListOrder() {
+        CustomList list = new CustomList();
+        list.add(new ToDo("read book"), true);
+        list.add(new ToDo("buy milk"), true);
+        list.add(new ToDo("return book to library"), true);
+        list.add(new ToDo("milk the cow"), true);
+
+        assertEquals("Quack! Here are the matching tasks in your list:\n"
+                + "1. [T][ ] read book\n"
+                + "2. [T][ ] buy milk\n"
+                + "3. [T][ ] return book to library\n"
+                + "4. [T][ ] milk the cow", list.findKeyword("milk", "book"));
+    }
+
+    @Test
+    public void findKeyword_afterDeleteAndSort_indexStaysInSync() {
+        CustomList list = new CustomList();
+        list.add(new Deadline("late book", LocalDateTime.of(2025, 12, 1, 10, 0)), true);
+        list.add(new Deadline("early book", LocalDateTime.of(2025, 1, 1, 10, 0)), true);
+        list.add(new ToDo("stray book"), true);
+        list.deleteTask("3");
+        list.sortEarliest();
+
+        assertEquals("Quack! Here are the matching tasks in your list:\n"
+                + "1. " + list.get(0).printTask() + "\n"
+                + "2. " + list.get(1).printTask(), list.findKeyword("book"));
+        assertEquals("late book", list.get(0).toString());
+        assertEquals("Quack! No task description matches.", list.findKeyword("stray"));
+    }
+
+    @Test
+    public void findKeyword_partOfWord_matchesSubstring() {
+        CustomList list = new CustomList();
+        list.add(new ToDo("read book"), true);
+        list.add(new ToDo("cook dinner"), true);
+        list.add(new ToDo("buy milk"), true);
+
+        assertEquals("Quack! Here are the matching tasks in your list:\n"
+                + "1. [T][ ] read book\n"
+                + "2. [T][ ] cook dinner", list.findKeyword("ook"));
+        assertEquals("Quack! Here are the matching tasks in your list:\n"
+                + "1. [T][ ] read book\n"
+                + "2. [T][ ] cook dinner", list.findKeyword("ok"));
+        assertEquals("Quack! No task description matches.", list.findKeyword("books"));
+    }
+
+    @Test
+    public void findKeyword_randomTasks_sameAsScan() {
+        Random random = new Random(2103);
+        CustomList list = new CustomList();
+        List<ToDo> expectedOrder = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int j = 0; j < 12; j++) {
+                description.append((char) ('a' + random.nextInt(4)));
+            }
+            ToDo todo = new ToDo(description.toString());
+            list.add(todo, true);
+            expectedOrder.add(todo);
+        }
+        for (int i = 0; i < 300; i++) {
+            int index = random.nextInt(list.size());
+            list.deleteTask(String.valueOf(index + 1));
+            expectedOrder.remove(index);
+        }
+
+        for (String keyword : new String[] {"abcd", "aaa", "dcbad", "ab", "abcdabcd"}) {
+            StringBuilder expected = new StringBuilder("Quack! Here are the matching tasks in your list:");
+            int count = 0;
+            for (ToDo todo : expectedOrder) {
+                if (todo.hasKeyword(keyword)) {
+                    expected.append("\n").append(++count).append(". ").append(todo.printTask());
+                }
+            }
+            String result = count == 0 ? "Quack! No task description matches." : expected.toString();
+            assertEquals(result, list.findKeyword(keyword));
+        }
+    }
+
+    @Test
+    public void findMatching_afterMarksAndDeletes_sameAsScan() {
+        Random random = new Random(909);
+        CustomList list = new CustomList();
+        List<Task> expectedOrder = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            Task task = random.nextBoolean()
+                    ? new ToDo("todo " + i)
+                    : new Deadline("deadline " + i, LocalDateTime.of(2026, 1, 1, 0, 0).plusHours(i));
+            list.add(task, true);
+            expectedOrder.add(task);
+        }
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(list.size());
+            if (random.nextBoolean()) {
+                list.deleteTask(String.valueOf(index + 1));
+                expectedOrder.remove(index);
+            } else if (!expectedOrder.get(index).isComplete()) {
+                list.markCompleted(String.valueOf(index + 1), "");
+            }
+        }
+
+        StringBuilder expected = new StringBuilder("Quack! Here are the tasks matching your query:");
+        int count = 0;
+        for (Task task : expectedOrder) {
+            if (task instanceof Deadline && !task.isComplete()) {
+                expected.append("\n").append(++count).append(". ").append(task.printTask());
+            }
+        }
+        assertEquals(expected.toString(),
+                list.findMatching(Query.and(Query.type('D'), Query.done(false))));
+    }
+
+    @Test
+    public void printList_repeatedWithoutChanges_servedFromCache() {
+        CustomList list = new CustomList();
+        list.add(new ToDo("read book"), true);
+
+        String first = list.printList();
+        assertEquals(first, list.printList());
+        assertEquals(first, list.printList());
+        assertEquals(1, list.getCacheMisses());
+        assertEquals(2, list.getCacheHits());
+
+        list.markCompleted("1", "");
+        assertEquals("1. [T][X] read book", list.printList());
+        assertEquals(2, list.getCacheMisses());
+    }
+
+    @Test
+    public void findKeyword_afterEachKindOfChange_cacheInvalidated() {
+        CustomList list = new CustomList();
+        list.add(new ToDo("read book"), true);
+        list.findKeyword("book");
+
+        long version = list.getVersion();
+        list.add(new ToDo("return book"), true);
+        assertTrue(list.getVersion() > version);
+        assertEquals("Quack! Here are the matching tasks in your list:\n"
+                + "1. [T][ ] read book\n"
+                + "2. [T][ ] return book", list.findKeyword("book"));
+
+        list.markCompleted("2", "");
+        assertEquals("Quack! Here are the matching tasks in your list:\n"
+                + "1. [T][ ] read book\n"
+                + "2. [T][X] return book", list.findKeyword("book"));
+
+        list.markUncompleted("2", "");
+        list.deleteTask("1");
+        assertEquals("Quack! Here are the matching tasks in your list:\n"
+                + "1. [T][ ] return book", list.findKeyword("book"));
+        assertEquals(0, list.getCacheHits());
+    }
+
+    @Test
+    public void sortEarliest_keepsNumberingAndLeavesListUnchanged() {
+        CustomList list = new CustomList();
+        Deadline later = new Deadline("later", LocalDateTime.of(2026, 12, 2, 10, 0));
+        ToDo todo = new ToDo("whenever");
+        Deadline sooner = new Deadline("sooner", LocalDateTime.of(2026, 12, 1, 10, 0));
+        Deadline alsoLater = new Deadline("also later", LocalDateTime.of(2026, 12, 2, 10, 0));
+        list.add(later, true);
+        list.add(todo, true);
+        list.add(sooner, true);
+        list.add(alsoLater, true);
+
+        assertEquals("Quack! Here are your tasks sorted from the earliest:\n"
+                + "2. " + todo.printTask() + "\n"
+                + "3. " + sooner.printTask() + "\n"
+                + "1. " + later.printTask() + "\n"
+                + "4. " + alsoLater.printTask(), list.sortEarliest());
+        assertEquals("Quack! Here are your tasks sorted from the latest:\n"
+                + "1. " + later.printTask() + "\n"
+                + "4. " + alsoLater.printTask() + "\n"
+                + "3. " + sooner.printTask() + "\n"
+                + "2. " + todo.printTask(), list.sortLatest());
+        assertEquals(later, list.get(0));
+
+        list.deleteTask("1");
+        assertEquals("Quack! Here are your tasks sorted from the earliest:\n"
+                + "1. " + todo.printTask() + "\n"
+                + "2. " + sooner.printTask() + "\n"
+                + "3. " + alsoLater.printTask(), list.sortEarliest());
+    }
+
+    @Test
+    public void findOn_multiDayEventAndDeadlines_listedByStart() {
+        CustomList list = new CustomList();
+        Event camp = new Event("camp", LocalDateTime.of(2026, 11, 30, 9, 0), LocalDateTime.of(2026, 12, 2, 17, 0));
+        Deadline due = new Deadline("report", LocalDateTime.of(2026, 12, 1, 23, 59));
+        list.add(due, true);
+        list.add(new ToDo("whenever"), true);
+        list.add(camp, true);
+        list.add(new Deadline("later", LocalDateTime.of(2026, 12, 3, 0, 0)), true);
+
+        assertEquals("Quack! Here are your tasks on 2026-12-01:\n"
+                + "3. " + camp.printTask() + "\n"
+                + "1. " + due.printTask(), list.findOn(LocalDate.of(2026, 12, 1)));
+        assertEquals("Quack! You have nothing on 2026-11-29.", list.findOn(LocalDate.of(2026, 11, 29)));
+        assertEquals("Quack! Here are your tasks between 2026-12-02 and 2026-12-03:\n"
+                + "3. " + camp.printTask() + "\n"
+                + "4. " + list.get(3).printTask(),
+                list.findBetween(LocalDate.of(2026, 12, 2), LocalDate.of(2026, 12, 3)));
+    }
+
+    @Test
+    public void findOverlapping_excludesTaskItself() {
+        CustomList list = new CustomList();
+        Event camp = new Event("camp", LocalDateTime.of(2026, 11, 30, 9, 0), LocalDateTime.of(2026, 12, 2, 17, 0));
+        Deadline due = new Deadline("report", LocalDateTime.of(2026, 12, 1, 23, 59));
+        list.add(camp, true);
+        list.add(due, true);
+        list.add(new ToDo("whenever"), true);
+
+        assertEquals("Quack! Here are the tasks overlapping with " + camp.printTask() + ":\n"
+                + "2. " + due.printTask(), list.findOverlapping("1", "").getMessage());
+        list.deleteTask("2");
+        assertEquals("Quack! Nothing overlaps with this task:\n" + camp.printTask(),
+                list.findOverlapping("1", "").getMessage());
+        assertEquals(ErrorResponse.class, list.findOverlapping("2", "").getClass());
+    }
+
+    @Test
+    public void findOverlapping_backToBackEvents_sameAsConflicts() {
+        CustomList list = new CustomList();
+        Event first = new Event("first", LocalDateTime.of(2026, 12, 1, 10, 0), LocalDateTime.of(2026, 12, 1, 11, 0));
+        Event second = new Event("second", LocalDateTime.of(2026, 12, 1, 11, 0), LocalDateTime.of(2026, 12, 1, 12, 0));
+        list.add(first, true);
+
+        assertFalse(list.add(second, false).contains("clashes"));
+        assertEquals("Quack! Nothing overlaps with this task:\n" + first.printTask(),
+                list.findOverlapping("1", "").getMessage());
+        assertEquals("Quack! None of your events clash.", list.findConflicts());
+    }
+
+    @Test
+    public void add_clashingEvent_reportsClash() {
+        CustomList list = new CustomList();
+        Event camp = new Event("camp", LocalDateTime.of(2026, 12, 1, 9, 0), LocalDateTime.of(2026, 12, 1, 17, 0));
+        list.add(camp, true);
+        list.add(new Deadline("report", LocalDateTime.of(2026, 12, 1, 12, 0)), true);
+        list.add(new Event("lunch", LocalDateTime.of(2026, 12, 1, 17, 0), LocalDateTime.of(2026, 12, 1, 18, 0)), true);
+
+        Event talk = new Event("talk", LocalDateTime.of(2026, 12, 1, 16, 0), LocalDateTime.of(2026, 12, 1, 17, 30));
+        assertEquals("Quack! I've added the task below to your list as #4:\n"
+                + talk.printTask() + "\n"
+                + "You now have 4 tasks in the list.\n"
+                + "Heads up, it clashes with:\n"
+                + "1. " + camp.printTask() + "\n"
+                + "3. " + list.get(2).printTask(), list.add(talk, false));
+
+        assertEquals("Quack! Here are the events that clash:\n"
+                + "1. " + camp.printTask() + "\n"
+                + "   with 4. " + talk.printTask() + "\n"
+                + "4. " + talk.printTask() + "\n"
+                + "   with 3. " + list.get(2).printTask(), list.findConflicts());
+    }
+
+    @Test
+    public void taskIds_stayTheSameAfterDeletes() {
+        CustomList list = new CustomList();
+        for (int i = 1; i <= 5; i++) {
+            list.add(new ToDo("task " + i), true);
+        }
+
+        list.deleteTask("#2");
+        list.deleteTask("1");
+        assertEquals("task 3", list.get(0).toString());
+        assertEquals(4, list.get(1).getId());
+
+        assertEquals("Quack! I have marked this task as completed:\n[T][X] task 4",
+                list.markCompleted("#4", "").getMessage());
+        assertEquals(ErrorResponse.class, list.markCompleted("#2", "").getClass());
+        assertEquals(ErrorResponse.class, list.markUncompleted("#99", "").getClass());
+        assertEquals(ErrorResponse.class, list.markCompleted("#x", "").getClass());
+
+        list.deleteTask("#5");
+        assertEquals("1. [T][ ] task 3\n2. [T][X] task 4", list.printList());
+
+        Task added = new ToDo("task 6");
+        list.add(added, true);
+        assertEquals(6, added.getId());
+    }
+
+    @Test
+    public void deleteTask_manyDeletes_keepsPositionsAndIds() {
+        CustomList list = new CustomList();
+        List<Task> expected = new ArrayList<>();
+        Random random = new Random(17);
+
+        for (int i = 0; i < 1000; i++) {
+            Task task = new ToDo("task " + i);
+            list.add(task, true);
+            expected.add(task);
+        }
+
+        // Deleting most tasks leaves the position index sparse and makes the list rebuild it
+        while (expected.size() > 10) {
+            int index = random.nextInt(expected.size());
+            Task removed = expected.remove(index);
+            if (random.nextBoolean()) {
+                list.deleteTask(String.valueOf(index + 1));
+            } else {
+                list.deleteTask("#" + removed.getId());
+            }
+        }
+
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), list.get(i));
+            list.markCompleted("#" + expected.get(i).getId(), "");
+            assertTrue(list.get(i).isComplete());
+        }
+    }
+
+    @Test
+    public void markAll_rangesAndIds_summarisesOnce() {
+        CustomList list = new CustomList();
+        for (int i = 1; i <= 10; i++) {
+            list.add(new ToDo("task " + i), true);
+        }
+        list.markCompleted("3", "");
+
+        assertEquals("Quack! I have marked 5 tasks as completed.\n1 task was already completed.",
+                list.markAll("2-4,#7,9-10", true, "").getMessage());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i >= 1 && i <= 3 || i == 6 || i >= 8, list.get(i).isComplete());
+        }
+
+        assertEquals("Quack! I have marked 2 tasks as not done yet.\n1 task was not completed yet.",
+                list.markAll("1-3", false, "").getMessage());
+        assertEquals(ErrorResponse.class, list.markAll("1,2", false, "").getClass());
+        assertEquals(ErrorResponse.class, list.markAll("4-11", true, "").getClass());
+        assertEquals(ErrorResponse.class, list.markAll("5-4", true, "").getClass());
+        assertEquals(ErrorResponse.class, list.markAll("1,,2", true, "").getClass());
+        assertFalse(list.get(4).isComplete());
+    }
+
+    @Test
+    public void deleteAll_rangesAndIds_compactsList() {
+        CustomList list = new CustomList();
+        List<Task> expected = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            Task task = new ToDo("task " + i);
+            list.add(task, true);
+            expected.add(task);
+        }
+
+        assertEquals("Quack! I've removed 15 tasks from your list.\nYou now have 15 tasks in the list.",
+                list.deleteAll("3,7,9-20,#30"));
+        expected.removeIf(task -> task.getId() == 3 || task.getId() == 7
+                || task.getId() >= 9 && task.getId() <= 20 || task.getId() == 30);
+
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), list.get(i));
+        }
+        assertEquals("Quack! Here are the matching tasks in your list:\n1. [T][ ] task 21",
+                list.findKeyword("task 21"));
+        list.markCompleted("#21", "");
+        assertTrue(list.get(6).isComplete());
+
+        assertEquals("Quack! I've removed 15 tasks from your list.\nYou have no more task in the list.",
+                list.deleteAll("1-15"));
+    }
+
+    @Test
+    public void deleteAll_fewTasks_leavesOthersInPlace() {
+        CustomList list = new CustomList();
+        for (int i = 1; i <= 5; i++) {
+            list.add(new Deadline("book " + i, LocalDateTime.of(2024, 1, 6 - i, 12, 0)), true);
+        }
+        Task first = list.get(0);
+        Task last = list.get(4);
+        long firstOrder = first.getListOrder();
+        long lastOrder = last.getListOrder();
+
+        list.deleteAll("2,4");
+
+        assertEquals(firstOrder, first.getListOrder());
+        assertEquals(lastOrder, last.getListOrder());
+        assertEquals("Quack! Here are the matching tasks in your list:\n1. [D][ ] book 5 (by: Jan 01 2024 12:00 PM)",
+                list.findKeyword("book 5"));
+        assertEquals("Quack! No task description matches.", list.findKeyword("book 4"));
+        assertTrue(list.sortEarliest().startsWith("Quack! Here are your tasks sorted from the earliest:\n"
+                + "3. [D][ ] book 5 (by: Jan 01 2024 12:00 PM)\n2. [D][ ] book 3"));
+    }
+
+    @Test
+    public void insertAll_noFreeSlotBetweenNeighbours_stillIndexed() {
+        CustomList list = new CustomList();
+        list.add(new ToDo("read book"), true);
+        list.add(new Deadline("return book", LocalDateTime.of(2024, 1, 2, 12, 0)), true);
+        Task first = new ToDo("buy book");
+        Task second = new Deadline("sell book", LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        list.insertAll(new int[] {0, 2}, List.of(first, second));
+
+        assertSame(first, list.get(0));
+        assertSame(second, list.get(2));
+        assertEquals("Quack! Here are the matching tasks in your list:\n"
+                + "1. [T][ ] buy book\n"
+                + "2. [T][ ] read book\n"
+                + "3. " + second.printTask() + "\n"
+                + "4. " + list.get(3).printTask(), list.findKeyword("book"));
+        assertTrue(list.sortEarliest().contains("\n3. " + second.printTask() + "\n4. "));
+        list.add(new ToDo("lend book"), true);
+        assertEquals(4, list.positionOf(list.get(4)));
+    }
+
+    @Test
+    public void deleteAll_notifiesPositionsFromLast() {
+        CustomList list = new CustomList();
+        List<String> events = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            list.add(new ToDo("task " + i), true);
+        }
+        list.addObserver(new ListObserver() {
+            @Override
+            public void onAdd(Task task) {
+                events.add("add");
+            }
+
+            @Override
+            public void onInsert(int index, Task task) {
+                events.add("insert " + index + " " + task);
+            }
+
+            @Override
+            public void onMark(int index, boolean isComplete) {
+                events.add("mark " + index);
+            }
+
+            @Override
+            public void onDelete(int index, Task task) {
+                events.add("delete " + index + " " + task);
+            }
+
+            @Override
+            public void onBatchStart() {
+                events.add("start");
+            }
+
+            @Override
+            public void onBatchEnd() {
+                events.add("end");
+            }
+        });
+
+        list.deleteAll("2,4-5");
+        assertEquals(List.of("start", "delete 4 task 5", "delete 3 task 4", "delete 1 task 2", "end"), events);
+    }
+
+    @Test
+    public void printRange_keepsNumbering() {
+        CustomList list = new CustomList();
+        for (int i = 1; i <= 5; i++) {
+            list.add(new ToDo("task " + i), true);
+        }
+        list.markCompleted("3", "");
+
+        assertEquals("2. [T][ ] task 2\n3. [T][X] task 3", list.printRange(1, 3));
+        assertEquals("", list.printRange(5, 5));
+        assertEquals(list.printList(), list.printRange(0, 5));
+    }
+
+    @Test
+    public void streamList_chunks_joinToWholeList() {
+        CustomList list = new CustomList();
+        for (int i = 1; i <= 7; i++) {
+            list.add(new ToDo("task " + i), true);
+        }
+
+        List<String> chunks = list.streamList(3).collect(Collectors.toList());
+        list.deleteTask("1");
+
+        assertEquals(3, chunks.size());
+        assertEquals("7. [T][ ] task 7", chunks.get(2));
+        assertEquals(6, list.streamList(3).mapToInt(chunk -> chunk.split("\n").length).sum());
+    }
 }
@@ -16,4 +16,16 @@ public class DeadlineTest {
         assertEquals("Submit report", deadline.toString());
         assertEquals(deadlineTime, deadline.getComparableDate());
     }
+
+    @Test
+    public void getComparableMinutes_sameMinuteAsDate() {
+        LocalDateTime deadlineTime = LocalDateTime.of(2024, 1, 15, 23, 59);
+        Deadline deadline = new Deadline("Submit report", deadlineTime);
+        Deadline copy = new Deadline("Submit report", deadline.getComparableMinutes());
+
+        assertEquals(deadlineTime, copy.getComparableDate());
+        assertEquals(deadline.formatSave(), copy.formatSave());
+        assertEquals(deadline.getComparableMinutes() + 1,
+                new Deadline("Later", deadlineTime.plusMinutes(1)).getComparableMinutes());
+    }
 }
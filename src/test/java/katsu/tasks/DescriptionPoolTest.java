@@ -0,0 +1,52 @@
+package katsu.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class DescriptionPoolTest {
+    @Test
+    public void intern_equalDescriptions_returnsFirstAndCountsDuplicates() {
+        DescriptionPool pool = new DescriptionPool();
+        String first = new String("weekly sync");
+        String second = new String("weekly sync");
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertSame(first, pool.intern(first));
+        assertEquals(1, pool.getDeduplicated());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void intern_latin1AndWideText_estimatesBytesSaved() {
+        DescriptionPool pool = new DescriptionPool();
+        pool.intern(new String("weekly sync"));
+        pool.intern(new String("weekly sync"));
+        assertEquals(24 + 32, pool.getBytesSaved());
+
+        pool.intern(new String("週次会議"));
+        pool.intern(new String("週次会議"));
+        assertEquals(24 + 32 + 24 + 24, pool.getBytesSaved());
+    }
+
+    @Test
+    public void addedTasks_sameDescription_shareOneStringPerList() {
+        CustomList list = new CustomList();
+        Task todo = new ToDo(new String("water the plants"));
+        Task deadline = new Deadline(new String("water the plants"), 0L);
+        Task other = new ToDo(new String("water the plants"));
+        list.add(todo, true);
+        list.addAll(List.of(deadline));
+        new CustomList().add(other, true);
+
+        assertSame(todo.toString(), deadline.toString());
+        assertNotSame(todo.toString(), other.toString());
+        assertEquals(1, list.getSharedDescriptions());
+        assertEquals(24 + 32, list.getDescriptionBytesSaved());
+    }
+}
@@ -31,4 +31,14 @@ public class EventTest {
         assertTrue(event.printTask().contains("from:"));
         assertTrue(event.printTask().contains("to:"));
     }
+
+    @Test
+    public void getEndMinutes_twoHoursAfterStart() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 15, 12, 0);
+        Event event = new Event("Meeting", start, end);
+
+        assertEquals(120, event.getEndMinutes() - event.getComparableMinutes());
+        assertEquals(end, new Event("Meeting", event.getComparableMinutes(), event.getEndMinutes()).getEndDate());
+    }
 }
@@ -0,0 +1,75 @@
+package katsu.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class FuzzyIndexTest {
+
+    @Test
+    public void distance_typicalTypos() {
+        assertEquals(0, FuzzyIndex.distance("book", "book"));
+        assertEquals(1, FuzzyIndex.distance("book", "bok"));
+        assertEquals(1, FuzzyIndex.distance("book", "boom"));
+        assertEquals(2, FuzzyIndex.distance("book", "obok"));
+        assertEquals(4, FuzzyIndex.distance("", "book"));
+    }
+
+    @Test
+    public void find_rankedByDistanceThenListOrder() {
+        CustomList list = new CustomList();
+        list.add(new ToDo("plan meetings"), true);
+        list.add(new ToDo("team meeting"), true);
+        list.add(new ToDo("buy milk"), true);
+
+        assertEquals("Quack! Here are the closest matching tasks in your list:\n"
+                + "1. [T][ ] team meeting\n"
+                + "2. [T][ ] plan meetings", list.findSimilar("meetng"));
+        assertEquals("Quack! No task description comes close.", list.findSimilar("bread"));
+    }
+
+    @Test
+    public void find_randomVocabulary_sameAsBruteForce() {
+        Random random = new Random(2103);
+        FuzzyIndex index = new FuzzyIndex();
+        List<Task> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 3000; i++) {
+            ToDo todo = new ToDo(randomWord(random) + " " + randomWord(random));
+            todo.setListOrder(i);
+            index.add(todo);
+            tasks.add(todo);
+        }
+        for (int i = 0; i < 1000; i++) {
+            index.remove(tasks.remove(random.nextInt(tasks.size())));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            String query = randomWord(random);
+            List<Task> expected = new ArrayList<>();
+            for (int distance = 0; distance <= FuzzyIndex.tolerance(query); distance++) {
+                for (Task task : tasks) {
+                    int closest = FuzzyIndex.tokenize(task.toString()).stream()
+                            .mapToInt(word -> FuzzyIndex.distance(query, word)).min().getAsInt();
+                    if (closest == distance) {
+                        expected.add(task);
+                    }
+                }
+            }
+            assertEquals(expected, index.find(query));
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 3 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(5)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package katsu.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntervalTreeTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    public void overlapping_deadlineIsSinglePoint() {
+        IntervalTree tree = new IntervalTree();
+        Deadline deadline = new Deadline("submit", BASE.plusMinutes(10));
+        tree.add(deadline);
+        tree.add(new ToDo("no date"));
+
+        long due = IntervalTree.startOf(deadline);
+        assertEquals(List.of(deadline), tree.overlapping(due, due + 1));
+        assertEquals(List.of(), tree.overlapping(due + 1, due + 100));
+        assertEquals(List.of(), tree.overlapping(due - 100, due));
+    }
+
+    @Test
+    public void overlapping_backToBackEvents_notReported() {
+        IntervalTree tree = new IntervalTree();
+        Event first = new Event("first", BASE, BASE.plusHours(1));
+        Event second = new Event("second", BASE.plusHours(1), BASE.plusHours(2));
+        first.setListOrder(0);
+        second.setListOrder(1);
+        tree.add(first);
+        tree.add(second);
+
+        assertEquals(List.of(first), tree.overlapping(IntervalTree.startOf(first), IntervalTree.endOf(first)));
+        assertEquals(List.of(second), tree.overlapping(IntervalTree.startOf(second), IntervalTree.endOf(second)));
+        assertEquals(List.of(first, second),
+                tree.overlapping(IntervalTree.endOf(first) - 1, IntervalTree.endOf(first) + 1));
+    }
+
+    @Test
+    public void overlapping_randomEventsAndRemovals_sameAsScan() {
+        Random random = new Random(12);
+        IntervalTree tree = new IntervalTree();
+        List<Task> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(100_000));
+            Task task = random.nextBoolean()
+                    ? new Deadline("deadline " + i, start)
+                    : new Event("event " + i, start, start.plusMinutes(random.nextInt(5_000)));
+            task.setListOrder(i);
+            tree.add(task);
+            tasks.add(task);
+        }
+        for (int i = 0; i < 700; i++) {
+            tree.remove(tasks.remove(random.nextInt(tasks.size())));
+        }
+
+        long base = IntervalTree.startOf(new Deadline("base", BASE));
+        for (int i = 0; i < 200; i++) {
+            long from = base + random.nextInt(110_000);
+            long to = from + random.nextInt(3_000);
+            List<Task> expected = new ArrayList<>();
+            for (Task task : tasks) {
+                if (IntervalTree.startOf(task) < to && IntervalTree.endOf(task) > from) {
+                    expected.add(task);
+                }
+            }
+            expected.sort((a, b) -> IntervalTree.startOf(a) != IntervalTree.startOf(b)
+                    ? Long.compare(IntervalTree.startOf(a), IntervalTree.startOf(b))
+                    : Long.compare(a.getListOrder(), b.getListOrder()));
+
+            assertEquals(expected, tree.overlapping(from, to));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package katsu.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PositionIndexTest {
+
+    private static Task taskAt(long listOrder) {
+        Task task = new ToDo("task " + listOrder);
+        task.setListOrder(listOrder);
+        return task;
+    }
+
+    @Test
+    public void getAndRemove_matchArrayList() {
+        PositionIndex index = new PositionIndex();
+        List<Task> expected = new ArrayList<>();
+        Random random = new Random(42);
+        long nextListOrder = 0;
+
+        for (int round = 0; round < 5000; round++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                // Leave gaps in the list orders, as deleted tasks do
+                nextListOrder += 1 + random.nextInt(3);
+                Task task = taskAt(nextListOrder);
+                index.add(task);
+                expected.add(task);
+            } else {
+                int position = random.nextInt(expected.size());
+                assertSame(expected.remove(position), index.remove(position));
+            }
+
+            assertEquals(expected.size(), index.size());
+        }
+
+        assertEquals(expected, new ArrayList<>(index));
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), index.get(i));
+            assertEquals(i, index.positionOf(expected.get(i)));
+        }
+    }
+
+    @Test
+    public void fill_removedSlot_taskBackAtItsPosition() {
+        PositionIndex index = new PositionIndex();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            tasks.add(taskAt(2 * i + 1));
+            index.add(tasks.get(i));
+        }
+
+        Task removed = index.remove(17);
+        index.fill(taskAt(2));
+        index.fill(removed);
+        index.fill(taskAt(100));
+
+        assertEquals(42, index.size());
+        assertEquals(2, index.get(1).getListOrder());
+        assertSame(removed, index.get(18));
+        assertEquals(18, index.positionOf(removed));
+        assertEquals(100, index.get(41).getListOrder());
+    }
+
+    @Test
+    public void positionOf_removedTask_isMinusOne() {
+        PositionIndex index = new PositionIndex();
+        Task first = taskAt(0);
+        Task second = taskAt(1);
+        index.add(first);
+        index.add(second);
+
+        index.remove(0);
+        assertEquals(-1, index.positionOf(first));
+        assertEquals(0, index.positionOf(second));
+        assertEquals(-1, index.positionOf(taskAt(7)));
+    }
+
+    @Test
+    public void isSparse_afterMostTasksRemoved() {
+        PositionIndex index = new PositionIndex();
+        for (int i = 0; i < 200; i++) {
+            index.add(taskAt(i));
+        }
+
+        while (index.size() > 60) {
+            index.remove(0);
+        }
+        assertTrue(index.isSparse());
+
+        index.clear();
+        index.add(taskAt(0));
+        assertEquals(1, index.size());
+        assertFalse(index.isSparse());
+    }
+}
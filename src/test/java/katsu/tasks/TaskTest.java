@@ -2,6 +2,8 @@ package katsu.tasks;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -46,6 +48,21 @@ public class TaskTest {
         assertEquals("T | 1 | Test task", task.formatSave());
     }
 
+    @Test
+    public void printTask_unchangedTask_renderedOnce() {
+        Task task = new ToDo("Test task");
+        assertSame(task.printTask(), task.printTask());
+        assertSame(task.formatSave(), task.formatSave());
+
+        String printed = task.printTask();
+        task.markCompleted();
+        assertNotSame(printed, task.printTask());
+        assertEquals("[T][X] Test task", task.printTask());
+        task.markUncompleted();
+        assertEquals("[T][ ] Test task", task.printTask());
+        assertEquals("T | 0 | Test task", task.formatSave());
+    }
+
     @Test
     public void testHasKeyword() {
         Task task = new ToDo("Test task with keyword");
@@ -0,0 +1,161 @@
+package katsu.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import katsu.response.ErrorResponse;
+
+public class UndoHistoryTest {
+
+    private static CustomList listOf(int count) {
+        CustomList list = new CustomList();
+        for (int i = 1; i <= count; i++) {
+            list.add(new ToDo("task " + i), true);
+        }
+        return list;
+    }
+
+    @Test
+    public void undo_delete_putsTaskBackWithItsId() {
+        CustomList list = listOf(3);
+        UndoHistory history = new UndoHistory(list);
+        list.addObserver(history);
+        String before = list.printList();
+
+        list.deleteTask("2");
+        assertEquals("Quack! I have undone deleting 1 task.", history.undo().getMessage());
+        assertEquals(before, list.printList());
+        assertEquals(2, list.get(1).getId());
+
+        assertEquals("Quack! I have redone deleting 1 task.", history.redo().getMessage());
+        assertEquals("1. [T][ ] task 1\n2. [T][ ] task 3", list.printList());
+    }
+
+    @Test
+    public void undo_batchDelete_putsTasksBackWithoutReindexing() {
+        CustomList list = listOf(6);
+        UndoHistory history = new UndoHistory(list);
+        list.addObserver(history);
+        List<Long> orders = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            orders.add(list.get(i).getListOrder());
+        }
+
+        list.deleteAll("2,4-5");
+        history.undo();
+
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals((long) orders.get(i), list.get(i).getListOrder());
+        }
+        assertEquals("Quack! Here are the matching tasks in your list:\n1. [T][ ] task 4", list.findKeyword("task 4"));
+        assertEquals(3, list.positionOf(list.get(3)));
+    }
+
+    @Test
+    public void undo_batchCommands_undoneAsAWhole() {
+        CustomList list = listOf(10);
+        UndoHistory history = new UndoHistory(list);
+        list.addObserver(history);
+        String before = list.printList();
+
+        list.markAll("1-4", true, "");
+        list.deleteAll("3,5,7-9");
+        list.add(new ToDo("task 11"), true);
+        String after = list.printList();
+
+        assertEquals("Quack! I have undone adding 1 task.", history.undo().getMessage());
+        assertEquals("Quack! I have undone deleting 5 tasks.", history.undo().getMessage());
+        assertEquals("Quack! I have undone marking 4 tasks as completed.", history.undo().getMessage());
+        assertEquals(before, list.printList());
+        assertEquals(ErrorResponse.class, history.undo().getClass());
+
+        history.redo();
+        history.redo();
+        history.redo();
+        assertEquals(after, list.printList());
+        assertEquals(ErrorResponse.class, history.redo().getClass());
+    }
+
+    @Test
+    public void newChange_clearsRedo() {
+        CustomList list = listOf(2);
+        UndoHistory history = new UndoHistory(list);
+        list.addObserver(history);
+
+        list.markCompleted("1", "");
+        history.undo();
+        list.markCompleted("2", "");
+
+        assertEquals(ErrorResponse.class, history.redo().getClass());
+        assertFalse(list.get(0).isComplete());
+        assertTrue(list.get(1).isComplete());
+    }
+
+    @Test
+    public void limit_dropsOldestChanges() {
+        CustomList list = listOf(5);
+        UndoHistory history = new UndoHistory(list, 3);
+        list.addObserver(history);
+
+        for (int i = 1; i <= 5; i++) {
+            list.markCompleted(String.valueOf(i), "");
+        }
+        for (int i = 0; i < 3; i++) {
+            history.undo();
+        }
+
+        assertEquals(ErrorResponse.class, history.undo().getClass());
+        assertTrue(list.get(0).isComplete());
+        assertTrue(list.get(1).isComplete());
+        assertFalse(list.get(2).isComplete());
+    }
+
+    @Test
+    public void undoAll_randomCommands_restoresEveryVersion() {
+        CustomList list = listOf(50);
+        UndoHistory history = new UndoHistory(list);
+        list.addObserver(history);
+        List<String> versions = new ArrayList<>();
+        Random random = new Random(19);
+
+        for (int i = 0; i < 60; i++) {
+            versions.add(list.printList());
+            int size = list.size();
+            int from = 1 + random.nextInt(size);
+            int to = Math.min(size, from + random.nextInt(4));
+
+            // Keep a few tasks around, so that there is always something to delete or mark
+            switch (size < 5 ? 0 : random.nextInt(4)) {
+            case 0:
+                list.add(new ToDo("added " + i), true);
+                break;
+            case 1:
+                list.deleteAll(from + "-" + to);
+                break;
+            case 2:
+                list.deleteTask(String.valueOf(from));
+                break;
+            default:
+                list.markAll(from + "-" + to, !list.get(from - 1).isComplete(), "");
+                break;
+            }
+        }
+        String last = list.printList();
+
+        for (int i = versions.size() - 1; i >= 0; i--) {
+            history.undo();
+            assertEquals(versions.get(i), list.printList());
+        }
+        while (!(history.redo() instanceof ErrorResponse)) {
+            // Redo everything that was undone
+        }
+        assertEquals(last, list.printList());
+    }
+}
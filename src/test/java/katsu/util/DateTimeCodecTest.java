@@ -0,0 +1,71 @@
+package katsu.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DateTimeCodecTest {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @Test
+    public void parseMinutes_validDate_matchesJavaTime() {
+        assertEquals(0, DateTimeCodec.parseMinutes("1970-01-01 00:00"));
+        assertEquals(DateUtils.toEpochMinutes(LocalDateTime.of(2024, 2, 29, 23, 59)),
+                DateTimeCodec.parseMinutes("2024-02-29 23:59"));
+        assertEquals(DateUtils.toEpochMinutes(LocalDateTime.of(1, 1, 1, 0, 0)),
+                DateTimeCodec.parseMinutes("0001-01-01 00:00"));
+    }
+
+    @Test
+    public void parseMinutes_bytes_matchesText() {
+        byte[] line = "D | 0 | return book | 2025-12-31 18:30\n".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(DateTimeCodec.parseMinutes("2025-12-31 18:30"), DateTimeCodec.parseMinutes(line, 22));
+        assertEquals(DateTimeCodec.parseMinutes("2025-12-31 18:30"),
+                DateTimeCodec.parseMinutes(ByteBuffer.wrap(line), 22, 38));
+        assertThrows(DateTimeParseException.class, () -> DateTimeCodec.parseMinutes(line, 0));
+        assertThrows(DateTimeParseException.class, () -> DateTimeCodec.parseMinutes(line, 24));
+    }
+
+    @Test
+    public void parseMinutes_invalidText_throwsException() {
+        String[] invalid = {"", "2025-12-31", "2025-12-31 18:30:00", "2025/12/31 18:30", "2025-12-31T18:30",
+            "2025-1a-31 18:30", "2025-13-01 00:00", "2025-00-01 00:00", "2025-02-29 00:00", "2025-04-31 00:00",
+            "2100-02-29 00:00", "2025-12-31 24:00", "2025-12-31 23:60", "0000-01-01 00:00", "+025-12-31 18:30"};
+
+        for (String text : invalid) {
+            assertThrows(DateTimeParseException.class, () -> DateTimeCodec.parseMinutes(text), text);
+        }
+        assertThrows(DateTimeParseException.class, () -> DateTimeCodec.parseMinutes(
+                ByteBuffer.wrap("2025-02-30 00:00".getBytes(StandardCharsets.US_ASCII)), 0, 16));
+    }
+
+    @Test
+    public void format_randomMinutes_matchesJavaTime() {
+        Random random = new Random(23);
+        long first = DateTimeCodec.parseMinutes("0001-01-01 00:00");
+        long last = DateTimeCodec.parseMinutes("9999-12-31 23:59");
+
+        for (int i = 0; i < 100_000; i++) {
+            long minutes = first + Math.floorMod(random.nextLong(), last - first + 1);
+            String expected = DateUtils.fromEpochMinutes(minutes).format(FORMATTER);
+
+            assertEquals(expected, DateTimeCodec.format(minutes));
+            assertEquals(minutes, DateTimeCodec.parseMinutes(expected));
+        }
+    }
+
+    @Test
+    public void format_yearOutOfRange_fallsBackToJavaTime() {
+        long minutes = DateUtils.toEpochMinutes(LocalDateTime.of(12025, 1, 1, 0, 0));
+        assertEquals("+12025-01-01 00:00", DateTimeCodec.format(minutes));
+    }
+}